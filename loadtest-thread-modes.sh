@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Compares platform threads against virtual threads (both behind the DB admission limiter)
+# under high connection counts. Needs a built jar (mvn -DskipTests package), the MySQL env vars the
+# app normally uses (DB_URL, DB_USERNAME, DB_PASSWORD), jq and hey (https://github.com/rakyll/hey).
+#
+#   ./loadtest-thread-modes.sh [connections] [duration]
+set -euo pipefail
+
+CONNECTIONS="${1:-2000}"
+DURATION="${2:-30s}"
+PORT=8080
+BASE_URL="http://localhost:$PORT"
+JAR=$(ls target/*.jar | grep -v original | head -1)
+EMAIL="loadtest@example.com"
+PASSWORD="Password123!"
+
+run_mode() {
+  local virtual="$1"
+  echo "== virtual threads: $virtual, $CONNECTIONS connections, $DURATION =="
+
+  java -jar "$JAR" --spring.profiles.active=mysql --server.port=$PORT \
+       --spring.threads.virtual.enabled="$virtual" > "loadtest-app-$virtual.log" 2>&1 &
+  local pid=$!
+  trap "kill $pid 2>/dev/null || true" RETURN
+
+  until curl -s -o /dev/null "$BASE_URL/api/v1/auth/login"; do sleep 1; done
+
+  curl -s -o /dev/null -X POST "$BASE_URL/api/v1/auth/register" \
+    -H "Content-Type: application/json" -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" || true
+  local token
+  token=$(curl -s -X POST "$BASE_URL/api/v1/auth/login" \
+    -H "Content-Type: application/json" -d "{\"email\":\"$EMAIL\",\"password\":\"$PASSWORD\"}" | jq -r .token)
+
+  hey -z "$DURATION" -c "$CONNECTIONS" -H "Authorization: Bearer $token" \
+    "$BASE_URL/api/todos?limit=50" | tee "loadtest-result-$virtual.txt" \
+    | grep -E "Requests/sec|Average|99%|Status code|\[[0-9]{3}\]"
+}
+
+run_mode false
+run_mode true
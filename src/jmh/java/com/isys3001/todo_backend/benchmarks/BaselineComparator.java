@@ -0,0 +1,99 @@
+package com.isys3001.todo_backend.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file against the committed baseline and fails when any
+ * benchmark got slower, or allocates more per operation, than the tolerance allows.
+ * <p>
+ * Usage: {@code BaselineComparator <baseline.json> <result.json> [tolerance]}. Pass
+ * {@code -Dbenchmarks.update-baseline=true} to copy the result over the baseline instead; a
+ * missing baseline is an error otherwise. Failures are thrown rather than {@code System.exit}ed,
+ * because {@code exec:java} runs this inside the Maven JVM.
+ */
+public final class BaselineComparator {
+
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path baselineFile = Path.of(args[0]);
+        Path resultFile = Path.of(args[1]);
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+
+        if (!Files.exists(resultFile)) {
+            throw new IllegalStateException("No JMH result at " + resultFile);
+        }
+        if (Boolean.getBoolean("benchmarks.update-baseline")) {
+            Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+            Files.copy(resultFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline written to " + baselineFile + "; commit it to compare future runs.");
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            throw new IllegalStateException("No baseline at " + baselineFile
+                    + "; run with -Dbenchmarks.update-baseline=true and commit it");
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(mapper.readTree(baselineFile.toFile()));
+        Map<String, JsonNode> current = index(mapper.readTree(resultFile.toFile()));
+
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> e : current.entrySet()) {
+            JsonNode before = baseline.get(e.getKey());
+            if (before == null) {
+                System.out.printf("NEW   %s%n", e.getKey());
+                continue;
+            }
+            JsonNode after = e.getValue();
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double old = before.path("primaryMetric").path("score").asDouble();
+            double now = after.path("primaryMetric").path("score").asDouble();
+            double change = old == 0 ? 0 : (now - old) / old;
+            boolean slower = higherIsBetter ? change < -tolerance : change > tolerance;
+
+            double oldAlloc = before.path("secondaryMetrics").path(ALLOC_METRIC).path("score").asDouble();
+            double nowAlloc = after.path("secondaryMetrics").path(ALLOC_METRIC).path("score").asDouble();
+            // tiny absolute allocations are noisy, so only flag growth above one object header
+            boolean allocates = nowAlloc - oldAlloc > 16 && (oldAlloc == 0 || (nowAlloc - oldAlloc) / oldAlloc > tolerance);
+
+            System.out.printf("%-5s %s  score %.3f -> %.3f %s (%+.1f%%)  alloc %.0f -> %.0f B/op%n",
+                    slower || allocates ? "WORSE" : "OK", e.getKey(), old, now,
+                    after.path("primaryMetric").path("scoreUnit").asText(), change * 100, oldAlloc, nowAlloc);
+            if (slower || allocates) {
+                regressions.add(e.getKey());
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException(
+                    "Benchmark regressions beyond " + (int) (tolerance * 100) + "%: " + regressions);
+        }
+    }
+
+    // benchmark + mode + params uniquely identify a row in JMH output
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode row : results) {
+            StringBuilder key = new StringBuilder(row.path("benchmark").asText())
+                    .append(" [").append(row.path("mode").asText()).append(']');
+            row.path("params").fields().forEachRemaining(p ->
+                    key.append(' ').append(p.getKey()).append('=').append(p.getValue().asText()));
+            byKey.put(key.toString(), row);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,37 @@
+package com.isys3001.todo_backend.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** One login's worth of hashing at each candidate cost; compare with security.bcrypt.target-latency. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class BCryptBenchmark {
+
+    @Param({"10", "12", "14"})
+    private int strength;
+
+    private RehashingBCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new RehashingBCryptPasswordEncoder(strength);
+        hash = encoder.encode("Password123!");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("Password123!");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("Password123!", hash);
+    }
+}
@@ -0,0 +1,38 @@
+package com.isys3001.todo_backend.service.impl;
+
+import com.isys3001.todo_backend.dto.response.TodoResponse;
+import com.isys3001.todo_backend.entity.Todo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoMappingBenchmark {
+
+    private TodoServiceImpl service;
+    private Todo todo;
+
+    @Setup
+    public void setUp() {
+        // repositories are not touched by map()
+        service = new TodoServiceImpl(null, null, null, null, new SimpleMeterRegistry(), 500, 500);
+        todo = new Todo();
+        todo.setId(1L);
+        todo.setTitle("Write assignment report");
+        todo.setDescription("CI/CD section first");
+        todo.setCreatedAt(Instant.now());
+        todo.setUpdatedAt(Instant.now());
+    }
+
+    @Benchmark
+    public TodoResponse map() {
+        return service.map(todo);
+    }
+}
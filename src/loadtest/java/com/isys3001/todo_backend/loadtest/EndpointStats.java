@@ -0,0 +1,83 @@
+package com.isys3001.todo_backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and status counts for one route. {@code latency} is measured from when the request
+ * was <em>scheduled</em>, so time spent waiting behind a slow server is included (coordinated
+ * omission corrected); {@code serviceTime} is measured from when it was actually sent.
+ */
+final class EndpointStats {
+
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    private final Histogram serviceTime = new ConcurrentHistogram(MAX_TRACKABLE_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    void record(long intendedStart, long sent, long finished, String status, boolean error) {
+        latency.recordValue(Math.min(finished - intendedStart, MAX_TRACKABLE_NANOS));
+        serviceTime.recordValue(Math.min(finished - sent, MAX_TRACKABLE_NANOS));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    long requests() {
+        return latency.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Map<String, Object> report(double seconds) {
+        long requests = requests();
+        Map<String, Object> out = new TreeMap<>();
+        out.put("requests", requests);
+        out.put("errors", errors());
+        out.put("errorRate", requests == 0 ? 0.0 : (double) errors() / requests);
+        out.put("throughput", requests / seconds);
+        Map<String, Long> byStatus = new TreeMap<>();
+        statuses.forEach((k, v) -> byStatus.put(k, v.sum()));
+        out.put("status", byStatus);
+        out.put("latencyMs", percentiles(latency));
+        out.put("serviceTimeMs", percentiles(serviceTime));
+        out.put("latencyHistogram", encode(latency));
+        return out;
+    }
+
+    static Map<String, Double> percentiles(Histogram h) {
+        Map<String, Double> p = new TreeMap<>();
+        p.put("p50", ms(h.getValueAtPercentile(50)));
+        p.put("p90", ms(h.getValueAtPercentile(90)));
+        p.put("p99", ms(h.getValueAtPercentile(99)));
+        p.put("p999", ms(h.getValueAtPercentile(99.9)));
+        p.put("max", ms(h.getMaxValue()));
+        p.put("mean", h.getTotalCount() == 0 ? 0.0 : h.getMean() / 1_000_000.0);
+        return p;
+    }
+
+    // compressed HdrHistogram (nanoseconds), so runs can be merged or re-plotted later
+    private static String encode(Histogram h) {
+        ByteBuffer buffer = ByteBuffer.allocate(h.getNeededByteBufferCapacity());
+        int length = h.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
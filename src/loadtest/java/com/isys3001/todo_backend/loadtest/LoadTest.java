@@ -0,0 +1,314 @@
+package com.isys3001.todo_backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.isys3001.todo_backend.TodoBackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for the todo and auth endpoints.
+ * <p>
+ * Without {@code --base-url} the application is started in-process on a random port with the
+ * {@code test} profile (in-memory H2 with the Flyway schema). Synthetic users are registered and
+ * seeded with todos, then requests are scheduled at {@code --rate} per second for
+ * {@code --duration}; a request's latency counts from its scheduled time, so a stalled server
+ * shows up in the percentiles instead of silently lowering the request rate.
+ * <p>
+ * Example: {@code --scenario=mixed --users=50 --todos-per-user=200 --rate=300 --duration=60s}
+ * <p>
+ * Options that look like Spring properties (a dotted name, e.g.
+ * {@code --spring.threads.virtual.enabled=true}) are passed on to the in-process application.
+ */
+public final class LoadTest {
+
+    private final Map<String, String> options;
+    private final Scenario scenario;
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper();
+    private final Map<Operation, EndpointStats> stats = new ConcurrentHashMap<>();
+    private String baseUrl;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.scenario = Scenario.valueOf(option("scenario", "mixed").toUpperCase().replace('-', '_'));
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        ConfigurableApplicationContext app = null;
+        baseUrl = options.get("base-url");
+        if (baseUrl == null) {
+            List<String> appArgs = new ArrayList<>(List.of(
+                    "--spring.profiles.active=test", "--server.port=0", "--logging.level.root=WARN",
+                    // all synthetic users share one IP; measure the app, not the limiter
+                    "--ratelimit.enabled=false"));
+            appProperties().forEach((name, value) -> appArgs.add("--" + name + "=" + value));
+            // devtools is on the test classpath; its restart would re-run main() and bind every argument twice
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            app = SpringApplication.run(TodoBackendApplication.class, appArgs.toArray(String[]::new));
+            baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) app).getWebServer().getPort();
+        }
+
+        try {
+            int userCount = Integer.parseInt(option("users", "50"));
+            int todosPerUser = Integer.parseInt(option("todos-per-user", "200"));
+            double rate = Double.parseDouble(option("rate", "200"));
+            Duration warmup = Duration.parse("PT" + option("warmup", "10s").toUpperCase());
+            Duration duration = Duration.parse("PT" + option("duration", "60s").toUpperCase());
+            int maxInFlight = Integer.parseInt(option("max-in-flight", "2000"));
+
+            System.out.printf("Preparing %d users with %d todos each against %s%n", userCount, todosPerUser, baseUrl);
+            List<SyntheticUser> users = prepareUsers(userCount, todosPerUser);
+
+            System.out.printf("Running %s at %.0f req/s: %s warmup, %s measured%n", scenario, rate, warmup, duration);
+            Instant startedAt = Instant.now();
+            drive(users, rate, warmup.toNanos(), duration.toNanos(), maxInFlight);
+
+            Path out = Path.of(option("out", "target/loadtest/" + scenario.name().toLowerCase() + ".json"));
+            writeReport(out, startedAt, duration, userCount, todosPerUser, rate);
+            System.out.println("Report written to " + out);
+        } finally {
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    private Map<String, String> appProperties() {
+        Map<String, String> properties = new TreeMap<>();
+        options.forEach((name, value) -> {
+            if (name.contains(".")) {
+                properties.put(name, value);
+            }
+        });
+        return properties;
+    }
+
+    // ---------- setup ----------
+
+    private List<SyntheticUser> prepareUsers(int count, int todosPerUser) throws Exception {
+        long runId = System.currentTimeMillis();
+        List<SyntheticUser> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SyntheticUser user = new SyntheticUser("load-" + runId + "-" + i + "@example.com", "Password123!");
+            String credentials = json.writeValueAsString(Map.of("email", user.email, "password", user.password));
+            send(post("/api/v1/auth/register", credentials, null));
+            user.token = json.readTree(send(post("/api/v1/auth/login", credentials, null)).body())
+                    .path("token").asText();
+
+            for (int seeded = 0; seeded < todosPerUser; seeded += 100) {
+                List<Map<String, String>> creates = new ArrayList<>();
+                for (int k = seeded; k < Math.min(seeded + 100, todosPerUser); k++) {
+                    creates.add(Map.of("title", "Todo " + k, "description", "Seeded for load test"));
+                }
+                JsonNode result = json.readTree(send(post("/api/todos/bulk",
+                        json.writeValueAsString(Map.of("create", creates)), user.token)).body());
+                result.path("created").forEach(c -> user.todoIds.add(c.path("id").asLong()));
+            }
+            users.add(user);
+        }
+        return users;
+    }
+
+    // ---------- load ----------
+
+    private void drive(List<SyntheticUser> users, double rate, long warmupNanos, long measuredNanos,
+                       int maxInFlight) {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + measuredNanos;
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            long intended = start;
+            while (intended < end) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long scheduled = intended;
+                boolean measured = scheduled >= measureFrom;
+                SyntheticUser user = users.get(ThreadLocalRandom.current().nextInt(users.size()));
+                Operation op = scenario.next();
+                workers.submit(() -> {
+                    // time spent waiting here is charged to the request's latency
+                    inFlight.acquireUninterruptibly();
+                    try {
+                        execute(user, op, scheduled, measured);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+                intended += (long) (1_000_000_000L / scenario.rateAt(rate, intended - start));
+            }
+            // close() waits for the requests still in flight
+        }
+    }
+
+    private void execute(SyntheticUser user, Operation op, long scheduled, boolean measured) {
+        long sent = System.nanoTime();
+        String status;
+        boolean error;
+        try {
+            HttpResponse<String> response = send(request(user, op));
+            status = String.valueOf(response.statusCode());
+            error = response.statusCode() >= 400;
+            afterResponse(user, op, response);
+        } catch (Exception e) {
+            status = e.getClass().getSimpleName();
+            error = true;
+        }
+        if (measured) {
+            stats.computeIfAbsent(op, o -> new EndpointStats()).record(scheduled, sent, System.nanoTime(), status, error);
+        }
+    }
+
+    private HttpRequest request(SyntheticUser user, Operation op) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (op) {
+            case LOGIN -> post("/api/v1/auth/login",
+                    json.writeValueAsString(Map.of("email", user.email, "password", user.password)), null);
+            case LIST -> get("/api/todos?limit=50", user.token).build();
+            case LIST_SUMMARY -> get("/api/todos?view=summary&limit=50", user.token).build();
+            case LIST_CONDITIONAL -> {
+                HttpRequest.Builder b = get("/api/todos?limit=50", user.token);
+                String etag = user.listEtag;
+                yield (etag != null ? b.header("If-None-Match", etag) : b).build();
+            }
+            case GET -> get("/api/todos/" + user.randomTodoId(), user.token).build();
+            case CREATE -> post("/api/todos", json.writeValueAsString(
+                    Map.of("title", "Created " + random.nextInt(), "description", "load test")), user.token);
+            case UPDATE -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/todos/" + user.randomTodoId()))
+                    .header("Authorization", "Bearer " + user.token)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(
+                            json.writeValueAsString(Map.of("completed", random.nextBoolean()))))
+                    .build();
+            case BULK -> {
+                List<Map<String, String>> creates = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    creates.add(Map.of("title", "Bulk " + i));
+                }
+                yield post("/api/todos/bulk", json.writeValueAsString(Map.of("create", creates)), user.token);
+            }
+        };
+    }
+
+    private void afterResponse(SyntheticUser user, Operation op, HttpResponse<String> response) throws IOException {
+        if (op == Operation.LOGIN && response.statusCode() == 200) {
+            user.token = json.readTree(response.body()).path("token").asText();
+        } else if ((op == Operation.LIST || op == Operation.LIST_CONDITIONAL) && response.statusCode() == 200) {
+            response.headers().firstValue("ETag").ifPresent(etag -> user.listEtag = etag);
+        }
+    }
+
+    // ---------- http ----------
+
+    private HttpRequest.Builder get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET();
+    }
+
+    private HttpRequest post(String path, String body, String token) {
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            b.header("Authorization", "Bearer " + token);
+        }
+        return b.build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+    }
+
+    // ---------- report ----------
+
+    private void writeReport(Path out, Instant startedAt, Duration duration, int users, int todosPerUser,
+                             double rate) throws IOException {
+        double seconds = duration.toNanos() / 1_000_000_000.0;
+        Map<String, Object> endpoints = new TreeMap<>();
+        long requests = 0;
+        long errors = 0;
+        for (Map.Entry<Operation, EndpointStats> e : stats.entrySet()) {
+            endpoints.put(e.getKey().route, e.getValue().report(seconds));
+            requests += e.getValue().requests();
+            errors += e.getValue().errors();
+        }
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("baseUrl", baseUrl);
+        config.put("users", users);
+        config.put("todosPerUser", todosPerUser);
+        config.put("targetRate", rate);
+        config.put("durationSeconds", seconds);
+        config.put("appProperties", appProperties());
+
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("requests", requests);
+        totals.put("errors", errors);
+        totals.put("errorRate", requests == 0 ? 0.0 : (double) errors / requests);
+        totals.put("throughput", requests / seconds);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", scenario.name().toLowerCase());
+        report.put("startedAt", startedAt.toString());
+        report.put("config", config);
+        report.put("totals", totals);
+        report.put("endpoints", endpoints);
+
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        json.writer(SerializationFeature.INDENT_OUTPUT).writeValue(out.toFile(), report);
+    }
+}
@@ -0,0 +1,19 @@
+package com.isys3001.todo_backend.loadtest;
+
+/** The requests a synthetic user can make; {@link #route} is the report key. */
+enum Operation {
+    LOGIN("POST /api/v1/auth/login"),
+    LIST("GET /api/todos"),
+    LIST_CONDITIONAL("GET /api/todos (If-None-Match)"),
+    LIST_SUMMARY("GET /api/todos?view=summary"),
+    GET("GET /api/todos/{id}"),
+    CREATE("POST /api/todos"),
+    UPDATE("PUT /api/todos/{id}"),
+    BULK("POST /api/todos/bulk");
+
+    final String route;
+
+    Operation(String route) {
+        this.route = route;
+    }
+}
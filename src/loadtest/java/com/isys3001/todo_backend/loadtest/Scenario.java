@@ -0,0 +1,52 @@
+package com.isys3001.todo_backend.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A request mix plus an arrival-rate shape. Rates are open-model: requests are scheduled at
+ * fixed times regardless of how fast the server answers.
+ */
+enum Scenario {
+    LOGIN_STORM(false, Map.of(Operation.LOGIN, 80, Operation.LIST, 20)),
+    LIST_POLLING(false, Map.of(
+            Operation.LIST_CONDITIONAL, 60, Operation.LIST, 25, Operation.LIST_SUMMARY, 10, Operation.GET, 5)),
+    BURSTY_WRITES(true, Map.of(
+            Operation.CREATE, 40, Operation.UPDATE, 40, Operation.BULK, 10, Operation.LIST, 10)),
+    MIXED(false, Map.of(
+            Operation.LOGIN, 2, Operation.LIST, 30, Operation.LIST_CONDITIONAL, 30, Operation.GET, 15,
+            Operation.CREATE, 10, Operation.UPDATE, 10, Operation.BULK, 3));
+
+    // bursty scenarios run at BURST_FACTOR x rate for the first second of every BURST_PERIOD seconds
+    private static final double BURST_FACTOR = 4.0;
+    private static final long BURST_PERIOD_NANOS = 5_000_000_000L;
+    private static final long BURST_LENGTH_NANOS = 1_000_000_000L;
+
+    private final boolean bursty;
+    private final Operation[] table;
+
+    Scenario(boolean bursty, Map<Operation, Integer> weights) {
+        this.bursty = bursty;
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        this.table = new Operation[total];
+        int i = 0;
+        for (Map.Entry<Operation, Integer> e : new EnumMap<>(weights).entrySet()) {
+            for (int w = 0; w < e.getValue(); w++) {
+                table[i++] = e.getKey();
+            }
+        }
+    }
+
+    Operation next() {
+        return table[ThreadLocalRandom.current().nextInt(table.length)];
+    }
+
+    /** Requests per second at {@code elapsedNanos} into the run. */
+    double rateAt(double baseRate, long elapsedNanos) {
+        if (!bursty) {
+            return baseRate;
+        }
+        return elapsedNanos % BURST_PERIOD_NANOS < BURST_LENGTH_NANOS ? baseRate * BURST_FACTOR : baseRate;
+    }
+}
@@ -0,0 +1,24 @@
+package com.isys3001.todo_backend.loadtest;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Credentials and client-side state of one simulated user. */
+final class SyntheticUser {
+
+    final String email;
+    final String password;
+    final List<Long> todoIds = new CopyOnWriteArrayList<>();
+    volatile String token;
+    volatile String listEtag;
+
+    SyntheticUser(String email, String password) {
+        this.email = email;
+        this.password = password;
+    }
+
+    long randomTodoId() {
+        return todoIds.isEmpty() ? 0L : todoIds.get(ThreadLocalRandom.current().nextInt(todoIds.size()));
+    }
+}
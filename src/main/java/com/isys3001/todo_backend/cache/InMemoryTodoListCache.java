@@ -0,0 +1,73 @@
+package com.isys3001.todo_backend.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.isys3001.todo_backend.dto.response.TodoPageResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caffeine-backed {@link TodoListCache}. Memory is bounded by weight, where a page weighs
+ * the number of todos in it, so a few huge lists cannot crowd out the cache. Invalidation only
+ * reaches this JVM, so it is safe for a single node only.
+ */
+@Component
+@ConditionalOnProperty(name = "todos.list-cache.type", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryTodoListCache implements TodoListCache, MeterBinder {
+
+    private final Cache<TodoListCacheKey, Object> entries;
+    private final Cache<Long, Long> generations;
+    // generations come from one global counter, so a forgotten owner never reuses an old one
+    private final AtomicLong generationSeq = new AtomicLong();
+
+    public InMemoryTodoListCache(@Value("${todos.list-cache.max-weight:200000}") long maxWeight,
+                                 @Value("${todos.list-cache.ttl:10m}") Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((TodoListCacheKey key, Object value) -> weight(value))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.generations = Caffeine.newBuilder()
+                .expireAfterAccess(ttl)
+                .build();
+    }
+
+    @Override
+    public long generation(Long ownerId) {
+        return generations.get(ownerId, id -> generationSeq.incrementAndGet());
+    }
+
+    @Override
+    public void invalidateOwner(Long ownerId) {
+        generations.put(ownerId, generationSeq.incrementAndGet());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> V get(TodoListCacheKey key, Supplier<V> loader) {
+        return (V) entries.get(key, k -> loader.get());
+    }
+
+    public CacheStats stats() {
+        return entries.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, entries, "todos.list");
+    }
+
+    private static int weight(Object value) {
+        return value instanceof TodoPageResponse<?> page ? page.items().size() + 1 : 1;
+    }
+}
@@ -0,0 +1,25 @@
+package com.isys3001.todo_backend.cache;
+
+import java.util.function.Supplier;
+
+/**
+ * SPI for caching per-owner todo list reads. The in-process implementation is
+ * {@link InMemoryTodoListCache}; a shared implementation (e.g. backed by Redis) can be plugged in
+ * by registering another bean and setting {@code todos.list-cache.type} to something else.
+ * <p>
+ * Invalidation is generation based: {@link #invalidateOwner} must hand out a generation that was
+ * never used before for that owner, and must be called only after the write has committed.
+ * Readers take the generation before querying, so a read racing a write can only ever store
+ * its result under a generation that is already stale.
+ */
+public interface TodoListCache {
+
+    /** Current generation of the owner's entries. */
+    long generation(Long ownerId);
+
+    /** Invalidates every cached list of the owner by moving it to a fresh generation. */
+    void invalidateOwner(Long ownerId);
+
+    /** Returns the cached value for the key, loading and storing it on a miss. */
+    <V> V get(TodoListCacheKey key, Supplier<V> loader);
+}
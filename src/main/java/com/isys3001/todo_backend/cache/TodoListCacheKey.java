@@ -0,0 +1,16 @@
+package com.isys3001.todo_backend.cache;
+
+import com.isys3001.todo_backend.dto.request.TodoFilter;
+
+/**
+ * Identifies one cached list result. The owner's generation is part of the key, so bumping
+ * it makes every older entry unreachable without having to find and remove them.
+ */
+public record TodoListCacheKey(
+        Long ownerId,
+        long generation,
+        String view,
+        TodoFilter filter,
+        String cursor,
+        Integer limit
+) {}
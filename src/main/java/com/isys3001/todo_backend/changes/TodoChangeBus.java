@@ -0,0 +1,126 @@
+package com.isys3001.todo_backend.changes;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process fan-out of committed todo changes to the owner's open SSE connections.
+ * Idle connections cost one subscription object and a parked async request, no thread; sends run
+ * on virtual threads, one at a time per connection. A single scheduler thread sends heartbeats
+ * so proxies keep idle streams open. Each instance only sees writes it committed itself.
+ */
+@Component
+public class TodoChangeBus implements MeterBinder {
+
+    private final Map<Long, Set<TodoChangeSubscription>> byOwner = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final LongAdder published = new LongAdder();
+    private final Map<TodoChangeSubscription.CloseReason, LongAdder> closed =
+            new EnumMap<>(TodoChangeSubscription.CloseReason.class);
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "todo-stream-heartbeat");
+        t.setDaemon(true);
+        return t;
+    });
+    private final int bufferSize;
+
+    public TodoChangeBus(@Value("${todos.stream.buffer-size:256}") int bufferSize,
+                         @Value("${todos.stream.heartbeat-interval:25s}") Duration heartbeatInterval) {
+        this.bufferSize = bufferSize;
+        for (TodoChangeSubscription.CloseReason reason : TodoChangeSubscription.CloseReason.values()) {
+            closed.put(reason, new LongAdder());
+        }
+        long period = heartbeatInterval.toMillis();
+        heartbeats.scheduleAtFixedRate(this::heartbeat, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /** Registers a paused subscription for the owner; it buffers events until started. */
+    public TodoChangeSubscription subscribe(Long ownerId, SseEmitter emitter) {
+        TodoChangeSubscription subscription = new TodoChangeSubscription(ownerId, emitter, bufferSize, senders, this);
+        byOwner.compute(ownerId, (id, subs) -> {
+            Set<TodoChangeSubscription> set = subs != null ? subs : ConcurrentHashMap.newKeySet();
+            set.add(subscription);
+            return set;
+        });
+        connections.incrementAndGet();
+        emitter.onCompletion(() -> subscription.close(TodoChangeSubscription.CloseReason.CLOSED));
+        emitter.onTimeout(() -> subscription.close(TodoChangeSubscription.CloseReason.CLOSED));
+        emitter.onError(e -> subscription.close(TodoChangeSubscription.CloseReason.SEND_FAILED));
+        return subscription;
+    }
+
+    // runs on the committing thread after commit, so a rolled-back write is never pushed
+    @TransactionalEventListener
+    public void onChanged(TodoChangedEvent event) {
+        Set<TodoChangeSubscription> subs = byOwner.get(event.ownerId());
+        if (subs == null) return;
+        List<TodoStreamEvent> events = event.resync()
+                ? List.of(TodoStreamEvent.sync(event.seq()))
+                : event.changes().stream().map(TodoStreamEvent::of).toList();
+        for (TodoChangeSubscription sub : subs) {
+            events.forEach(sub::offer);
+        }
+        published.add(events.size());
+    }
+
+    void remove(TodoChangeSubscription subscription, TodoChangeSubscription.CloseReason reason) {
+        byOwner.computeIfPresent(subscription.ownerId(), (id, subs) -> {
+            subs.remove(subscription);
+            return subs.isEmpty() ? null : subs;
+        });
+        connections.decrementAndGet();
+        closed.get(reason).increment();
+    }
+
+    private void heartbeat() {
+        byOwner.values().forEach(subs -> subs.forEach(TodoChangeSubscription::heartbeat));
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("todos.stream.connections", this, TodoChangeBus::connectionCount)
+                .description("Open todo SSE connections")
+                .register(registry);
+        Gauge.builder("todos.stream.owners", byOwner, Map::size)
+                .description("Users with at least one open todo SSE connection")
+                .register(registry);
+        FunctionCounter.builder("todos.stream.published", published, LongAdder::doubleValue)
+                .description("Events fanned out to owners with open connections")
+                .register(registry);
+        closed.forEach((reason, count) -> FunctionCounter.builder("todos.stream.closed", count, LongAdder::doubleValue)
+                .description("Closed todo SSE connections; slow_consumer means the buffer overflowed")
+                .tag("reason", reason.name().toLowerCase())
+                .register(registry));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+    }
+}
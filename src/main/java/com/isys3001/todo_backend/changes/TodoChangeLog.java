@@ -0,0 +1,105 @@
+package com.isys3001.todo_backend.changes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.isys3001.todo_backend.dto.response.TodoChange;
+import com.isys3001.todo_backend.entity.OutboxEvent;
+import com.isys3001.todo_backend.repositories.OutboxEventRepository;
+import com.isys3001.todo_backend.repositories.TodoTombstoneRepository;
+import com.isys3001.todo_backend.repositories.UserRepository;
+import com.isys3001.todo_backend.utils.ChangeWatermark;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Write side of the change feed. Every todo write first claims a sequence number for its owner
+ * here, stamps it on the rows it touches, records tombstones for the rows it deletes and
+ * announces what it changed: as outbox rows for the dispatcher and as an after-commit event for
+ * the SSE bus. Must be called inside the writing transaction.
+ */
+@Component
+public class TodoChangeLog {
+
+    private final UserRepository userRepo;
+    private final TodoTombstoneRepository tombstoneRepo;
+    private final OutboxEventRepository outboxRepo;
+    private final ApplicationEventPublisher events;
+    private final ObjectMapper objectMapper;
+
+    public TodoChangeLog(UserRepository userRepo, TodoTombstoneRepository tombstoneRepo,
+                         OutboxEventRepository outboxRepo, ApplicationEventPublisher events,
+                         ObjectMapper objectMapper) {
+        this.userRepo = userRepo;
+        this.tombstoneRepo = tombstoneRepo;
+        this.outboxRepo = outboxRepo;
+        this.events = events;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Claims the owner's next change sequence number. The increment holds the user row lock until
+     * commit, so a later number can never become visible before an earlier one and the feed watermark
+     * never skips a change. Call it before touching any todo rows to keep the lock order consistent.
+     */
+    public long nextSeq(Long ownerId) {
+        userRepo.incrementChangeSeq(ownerId);
+        return userRepo.findChangeSeqById(ownerId)
+                .orElseThrow(() -> new IllegalStateException("User not found: " + ownerId));
+    }
+
+    /** Records tombstones for those of {@code ids} the owner has; call before the DELETE. */
+    public void deleting(Long ownerId, Collection<Long> ids, long seq) {
+        if (!ids.isEmpty()) {
+            tombstoneRepo.insertForOwned(ownerId, ids, seq, Instant.now());
+        }
+    }
+
+    /** Records tombstones for every completed todo of the owner; call before the DELETE. */
+    public void deletingCompleted(Long ownerId, long seq) {
+        tombstoneRepo.insertForCompleted(ownerId, seq, Instant.now());
+    }
+
+    /** Announces the changes of the current write; transactional listeners only see them after commit. */
+    public void announce(Long ownerId, long seq, List<TodoChange> changes) {
+        if (!changes.isEmpty()) {
+            Instant now = Instant.now();
+            outboxRepo.saveAll(changes.stream()
+                    .map(c -> outboxEvent(ownerId, seq, c.op(), c.id(), c.todo(), now))
+                    .toList());
+            events.publishEvent(new TodoChangedEvent(ownerId, seq, changes));
+        }
+    }
+
+    /** Announces a write that changed too many todos to list; listeners resync through the change feed. */
+    public void announceResync(Long ownerId, long seq) {
+        outboxRepo.save(outboxEvent(ownerId, seq, TodoStreamEvent.SYNC, null, null, Instant.now()));
+        events.publishEvent(new TodoChangedEvent(ownerId, seq, List.of()));
+    }
+
+    private OutboxEvent outboxEvent(Long ownerId, long seq, String type, Long todoId, Object todo, Instant now) {
+        try {
+            return OutboxEvent.builder()
+                    .ownerId(ownerId)
+                    .changeSeq(seq)
+                    .eventType(type)
+                    .todoId(todoId)
+                    .payload(todo == null ? null : objectMapper.writeValueAsString(todo))
+                    .createdAt(now)
+                    .nextAttemptAt(now)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize todo " + todoId, e);
+        }
+    }
+
+    public List<TodoChange> deletionsAfter(Long ownerId, ChangeWatermark after, int limit) {
+        return tombstoneRepo.findAfter(ownerId, after.seq(), after.id(), Limit.of(limit)).stream()
+                .map(t -> TodoChange.deleted(t.getTodoId(), t.getChangeSeq()))
+                .toList();
+    }
+}
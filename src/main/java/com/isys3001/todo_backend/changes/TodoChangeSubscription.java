@@ -0,0 +1,115 @@
+package com.isys3001.todo_backend.changes;
+
+import com.isys3001.todo_backend.utils.ChangeWatermark;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One open SSE connection. Publishers only ever enqueue into a bounded buffer; at most one sender
+ * task per connection writes to the socket, so a stalled client never blocks a committing request.
+ * A client whose buffer fills up is evicted and reconnects with {@code Last-Event-ID}.
+ * <p>
+ * A subscription starts paused and buffers live events until {@link #start} hands it the replay
+ * for the client's {@code Last-Event-ID}; live events the replay already covered are skipped.
+ */
+public class TodoChangeSubscription {
+
+    public enum CloseReason { SLOW_CONSUMER, SEND_FAILED, CLOSED }
+
+    private final Long ownerId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<TodoStreamEvent> buffer;
+    private final Executor sender;
+    private final TodoChangeBus bus;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    // written once by start() before the volatile flag, read by the sender after it
+    private List<TodoStreamEvent> replay = List.of();
+    private ChangeWatermark replayedUpTo;
+    private volatile boolean started;
+
+    TodoChangeSubscription(Long ownerId, SseEmitter emitter, int bufferSize, Executor sender, TodoChangeBus bus) {
+        this.ownerId = ownerId;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+        this.bus = bus;
+    }
+
+    public Long ownerId() {
+        return ownerId;
+    }
+
+    /**
+     * Sends {@code replay} first, then the buffered and future live events. Live events at or before
+     * {@code replayedUpTo} were part of the replay and are dropped; null sends everything.
+     */
+    public void start(List<TodoStreamEvent> replay, ChangeWatermark replayedUpTo) {
+        this.replay = replay;
+        this.replayedUpTo = replayedUpTo;
+        this.started = true;
+        scheduleSend();
+    }
+
+    void offer(TodoStreamEvent event) {
+        if (closed.get()) return;
+        if (!buffer.offer(event)) {
+            close(CloseReason.SLOW_CONSUMER);
+            return;
+        }
+        scheduleSend();
+    }
+
+    // heartbeats are only worth sending to an idle connection and never count against the buffer
+    void heartbeat() {
+        if (started && buffer.isEmpty()) {
+            offer(TodoStreamEvent.HEARTBEAT);
+        }
+    }
+
+    /** Unregisters from the bus and completes the emitter; later calls do nothing. */
+    public void close(CloseReason reason) {
+        if (closed.compareAndSet(false, true)) {
+            bus.remove(this, reason);
+            buffer.clear();
+            emitter.complete();
+        }
+    }
+
+    private void scheduleSend() {
+        if (started && !closed.get() && sending.compareAndSet(false, true)) {
+            sender.execute(this::send);
+        }
+    }
+
+    private void send() {
+        try {
+            for (TodoStreamEvent event : replay) {
+                emitter.send(event.toSse());
+            }
+            replay = List.of();
+            TodoStreamEvent event;
+            while (!closed.get() && (event = buffer.poll()) != null) {
+                if (event.id() == null || replayedUpTo == null || event.id().compareTo(replayedUpTo) > 0) {
+                    emitter.send(event.toSse());
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // client went away or the emitter already completed
+            close(CloseReason.SEND_FAILED);
+        } finally {
+            sending.set(false);
+        }
+        // an event may have been offered after the last poll but before the flag was cleared
+        if (!buffer.isEmpty()) {
+            scheduleSend();
+        }
+    }
+}
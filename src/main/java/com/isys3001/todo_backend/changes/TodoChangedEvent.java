@@ -0,0 +1,17 @@
+package com.isys3001.todo_backend.changes;
+
+import com.isys3001.todo_backend.dto.response.TodoChange;
+
+import java.util.List;
+
+/**
+ * Published by a todo write and delivered to listeners once its transaction commits.
+ * An empty {@code changes} list means the write touched too many todos to list them
+ * (import, complete-all, delete-completed); listeners catch up through the change feed instead.
+ */
+public record TodoChangedEvent(Long ownerId, long seq, List<TodoChange> changes) {
+
+    public boolean resync() {
+        return changes.isEmpty();
+    }
+}
@@ -0,0 +1,40 @@
+package com.isys3001.todo_backend.changes;
+
+import com.isys3001.todo_backend.dto.response.TodoChange;
+import com.isys3001.todo_backend.utils.ChangeWatermark;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+/**
+ * One server-sent event of the todo stream. Change events carry their change-feed watermark as
+ * the SSE id, so a reconnecting client's {@code Last-Event-ID} is a valid {@code since} value.
+ * Events are immutable and shared by every subscriber; the SSE frame is built per send.
+ */
+public record TodoStreamEvent(String name, ChangeWatermark id, Object data) {
+
+    public static final String SYNC = "sync";
+    static final TodoStreamEvent HEARTBEAT = new TodoStreamEvent(null, null, null);
+
+    public static TodoStreamEvent of(TodoChange change) {
+        return new TodoStreamEvent(change.op(), ChangeWatermark.of(change), change);
+    }
+
+    /** Tells the client to catch up through GET /api/todos/changes from its last event id. */
+    public static TodoStreamEvent sync(long seq) {
+        return new TodoStreamEvent(SYNC, null, Map.of("seq", seq));
+    }
+
+    public boolean isHeartbeat() {
+        return name == null;
+    }
+
+    SseEmitter.SseEventBuilder toSse() {
+        if (isHeartbeat()) {
+            return SseEmitter.event().comment("");
+        }
+        SseEmitter.SseEventBuilder event = SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+        return id != null ? event.id(id.encode()) : event;
+    }
+}
@@ -0,0 +1,83 @@
+package com.isys3001.todo_backend.config;
+
+import com.isys3001.todo_backend.datasource.ReadWriteRoutingDataSource;
+import com.isys3001.todo_backend.datasource.ReadYourWrites;
+import com.isys3001.todo_backend.datasource.ReplicaHealth;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Primary/replica connection pools behind a {@link ReadWriteRoutingDataSource} (db.replica.enabled).
+ * The primary pool is configured as before through spring.datasource.*, the replica pool through
+ * db.replica.* and db.replica.hikari.*.
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.replica.enabled", havingValue = "true")
+public class ReadWriteRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("db.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${db.replica.url}") String url,
+                                              @Value("${db.replica.username:}") String username,
+                                              @Value("${db.replica.password:}") String password) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+    }
+
+    @Bean
+    public ReplicaHealth replicaHealth(@Qualifier("replicaDataSource") DataSource replica,
+                                       @Value("${db.replica.health-check-interval:5s}") Duration interval,
+                                       @Value("${db.replica.health-check-timeout:1s}") Duration timeout) {
+        return new ReplicaHealth(replica, interval, timeout);
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(@Value("${db.replica.stickiness:2s}") Duration stickiness,
+                                         @Value("${db.replica.sticky-users-max-size:100000}") long maxUsers) {
+        return new ReadYourWrites(stickiness, maxUsers);
+    }
+
+    // JPA, Flyway and JdbcTemplate all use this one; the pools above are only reached through it
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReadYourWrites readYourWrites, ReplicaHealth health, MeterRegistry registry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, readYourWrites, health, registry));
+    }
+
+    // Hibernate otherwise holds a session's connection across transactions, so with open-in-view a
+    // write after a read in the same request would reuse the replica connection
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
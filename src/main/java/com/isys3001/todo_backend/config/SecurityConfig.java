@@ -1,34 +1,53 @@
 package com.isys3001.todo_backend.config;
 
 import com.isys3001.todo_backend.filters.JwtAuthenticationFilter;
+import com.isys3001.todo_backend.filters.RateLimitFilter;
+import com.isys3001.todo_backend.security.BCryptCalibrator;
+import com.isys3001.todo_backend.security.RehashingBCryptPasswordEncoder;
+import com.isys3001.todo_backend.security.TimedPasswordEncoder;
 import com.isys3001.todo_backend.service.impl.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final UserDetailsServiceImpl userDetailsService;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // async dispatches (SSE completion, async login) resume a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // the /error dispatch renders the status an authorized request already failed with (400, 404, ...)
+                        .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
+                        .requestMatchers("/api/v1/auth/logout-all").authenticated()
                         .requestMatchers("/api/v1/auth/**").permitAll()
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // after the JWT filter so todo requests are limited per user id
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -38,11 +57,21 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(encoder);
+        // re-hash on successful login when the stored cost differs from the configured one
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() { return new BCryptPasswordEncoder(); }
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") String strength,
+                                           @Value("${security.bcrypt.target-latency:250ms}") Duration targetLatency,
+                                           MeterRegistry meterRegistry) {
+        int cost = "auto".equalsIgnoreCase(strength)
+                ? BCryptCalibrator.calibrate(targetLatency)
+                : Integer.parseInt(strength);
+        log.info("Using BCrypt cost {}", cost);
+        return new TimedPasswordEncoder(new RehashingBCryptPasswordEncoder(cost), meterRegistry);
+    }
 
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
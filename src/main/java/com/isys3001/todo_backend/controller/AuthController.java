@@ -1,26 +1,49 @@
 package com.isys3001.todo_backend.controller;
 
 import com.isys3001.todo_backend.dto.request.LoginRequest;
+import com.isys3001.todo_backend.dto.request.RefreshRequest;
 import com.isys3001.todo_backend.dto.request.RegisterRequest;
+import com.isys3001.todo_backend.dto.response.TokenResponse;
+import com.isys3001.todo_backend.security.PasswordHashingExecutor;
 import com.isys3001.todo_backend.service.AuthenticationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
     private final AuthenticationService authenticationService;
+    private final PasswordHashingExecutor hashingExecutor;
 
+    // BCrypt-bound: run on the hashing pool and release the servlet thread while waiting
     @PostMapping("/register")
-    public String register(@Valid @RequestBody RegisterRequest req) {
-        return authenticationService.register(req);
+    public CompletableFuture<String> register(@Valid @RequestBody RegisterRequest req) {
+        return hashingExecutor.submit(() -> authenticationService.register(req));
     }
 
     @PostMapping("/login")
-    public String login(@Valid @RequestBody LoginRequest req) {
-        return authenticationService.login(req);
+    public CompletableFuture<TokenResponse> login(@Valid @RequestBody LoginRequest req) {
+        return hashingExecutor.submit(() -> authenticationService.login(req));
+    }
+
+    // no BCrypt on refresh, so it stays on the request thread
+    @PostMapping("/refresh")
+    public TokenResponse refresh(@Valid @RequestBody RefreshRequest req) {
+        return authenticationService.refresh(req);
+    }
+
+    @PostMapping("/logout")
+    public String logout(@Valid @RequestBody RefreshRequest req) {
+        return authenticationService.logout(req);
+    }
+
+    @PostMapping("/logout-all")
+    public String logoutAll() {
+        return authenticationService.revokeTokens();
     }
 }
@@ -1,23 +1,58 @@
-package com.example.todo.controller;
+package com.isys3001.todo_backend.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.isys3001.todo_backend.dto.request.BulkTodoRequest;
 import com.isys3001.todo_backend.dto.request.CreateTodoRequest;
+import com.isys3001.todo_backend.dto.request.TodoFilter;
 import com.isys3001.todo_backend.dto.request.UpdateTodoRequest;
+import com.isys3001.todo_backend.dto.response.AffectedRowsResponse;
+import com.isys3001.todo_backend.dto.response.BulkTodoResponse;
+import com.isys3001.todo_backend.dto.response.TodoChangesResponse;
+import com.isys3001.todo_backend.dto.response.TodoImportResponse;
+import com.isys3001.todo_backend.dto.response.TodoListVersion;
+import com.isys3001.todo_backend.dto.response.TodoPageResponse;
 import com.isys3001.todo_backend.dto.response.TodoResponse;
+import com.isys3001.todo_backend.dto.response.TodoSearchHit;
+import com.isys3001.todo_backend.dto.response.TodoSummaryResponse;
+import com.isys3001.todo_backend.exception.TodoVersionMismatchException;
 import com.isys3001.todo_backend.service.TodoService;
+import com.isys3001.todo_backend.utils.AcceptEncoding;
+import com.isys3001.todo_backend.utils.TodoImportReader;
+import com.isys3001.todo_backend.utils.TodoImportSpool;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/todos")
 public class TodoController {
 
+    static final String NDJSON = "application/x-ndjson";
+    static final String CSV = "text/csv";
+
     private final TodoService service;
+    private final ObjectMapper objectMapper;
 
-    public TodoController(TodoService service) {
+    public TodoController(TodoService service, ObjectMapper objectMapper) {
         this.service = service;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -27,21 +62,142 @@ public class TodoController {
     }
 
     @GetMapping
-    public ResponseEntity<List<TodoResponse>> listMine() {
-        return ResponseEntity.ok(service.listMine());
+    public ResponseEntity<TodoPageResponse<TodoResponse>> listMine(
+            TodoFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request
+    ) {
+        // answer If-None-Match from the aggregate before loading anything; no Last-Modified, since a
+        // delete changes the list without moving its newest updatedAt
+        TodoListVersion version = service.listVersion();
+        if (request.checkNotModified(version.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok(service.listMine(filter, cursor, limit));
+    }
+
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<TodoPageResponse<TodoSummaryResponse>> listMineSummaries(
+            TodoFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request
+    ) {
+        TodoListVersion version = service.listVersion();
+        if (request.checkNotModified(version.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok(service.listMineSummaries(filter, cursor, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<TodoPageResponse<TodoSearchHit>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(service.search(q, cursor, limit));
+    }
+
+    /**
+     * Delta sync: what changed since the client's last watermark, deletions included as tombstones.
+     * Page by passing the returned watermark back while {@code hasMore} is true.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<TodoChangesResponse> changes(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(service.changes(since, limit));
+    }
+
+    /**
+     * Streams every todo of the caller as NDJSON (default) or, with {@code format=json}, as one
+     * JSON array, writing each row as it is read. Gzip is applied when the client accepts it.
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "ndjson") String format,
+                       @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                       HttpServletResponse response) throws IOException {
+        boolean array = "json".equalsIgnoreCase(format);
+        boolean gzip = AcceptEncoding.accepts(acceptEncoding, "gzip");
+        response.setContentType(array ? "application/json" : NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"todos." + (array ? "json" : "ndjson") + "\"");
+        // the body depends on Accept-Encoding, so caches must key on it either way
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 8192) : response.getOutputStream();
+        // no flush per row: the generator's buffer (and gzip) decide when bytes hit the socket
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.setRootValueSeparator(null);
+            if (array) {
+                gen.writeStartArray();
+            }
+            service.exportMine(todo -> {
+                try {
+                    writer.writeValue(gen, todo);
+                    if (!array) {
+                        gen.writeRaw('\n');
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (array) {
+                gen.writeEndArray();
+            }
+        }
+    }
+
+    /**
+     * Imports todos from an NDJSON or CSV body (optionally gzip-encoded), parsing it as it arrives
+     * into a temporary spool that is then inserted in one short transaction.
+     * Invalid records are skipped and listed in the response by line number.
+     */
+    @PostMapping(value = "/import", consumes = {NDJSON, CSV})
+    public ResponseEntity<TodoImportResponse> importTodos(HttpServletRequest request) throws IOException {
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            body = new GZIPInputStream(body, 8192);
+        }
+        try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+            TodoImportReader rows = request.getContentType().startsWith(CSV)
+                    ? TodoImportReader.csv(reader)
+                    : TodoImportReader.ndjson(reader, objectMapper);
+            // parse the whole upload before the import transaction, which locks the owner's row
+            try (TodoImportSpool spool = TodoImportSpool.of(rows)) {
+                return ResponseEntity.ok(service.importMine(spool.rows()));
+            }
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<TodoResponse> get(@PathVariable Long id) {
-        return ResponseEntity.ok(service.get(id));
+    public ResponseEntity<TodoResponse> get(@PathVariable Long id, WebRequest request) {
+        TodoResponse todo = service.get(id);
+        if (request.checkNotModified(etag(todo), todo.updatedAt().toEpochMilli())) {
+            return null;
+        }
+        return ResponseEntity.ok(todo);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<TodoResponse> update(
             @PathVariable Long id,
-            @RequestBody UpdateTodoRequest req
+            @RequestBody UpdateTodoRequest req,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        return ResponseEntity.ok(service.update(id, req));
+        TodoResponse updated = service.update(id, req, expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(etag(updated))
+                .lastModified(updated.updatedAt())
+                .body(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -49,4 +205,38 @@ public class TodoController {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkTodoResponse> bulk(@RequestBody BulkTodoRequest req) {
+        return ResponseEntity.ok(service.bulk(req));
+    }
+
+    @PostMapping("/complete-all")
+    public ResponseEntity<AffectedRowsResponse> completeAll() {
+        return ResponseEntity.ok(new AffectedRowsResponse(service.completeAll()));
+    }
+
+    @DeleteMapping("/completed")
+    public ResponseEntity<AffectedRowsResponse> deleteCompleted() {
+        return ResponseEntity.ok(new AffectedRowsResponse(service.deleteCompleted()));
+    }
+
+    // strong ETag of a single todo: its JPA @Version
+    private static String etag(TodoResponse todo) {
+        return "\"" + todo.version() + "\"";
+    }
+
+    // If-Match: "*" or absent means unconditional; anything but one strong version ETag can never match
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+        String value = ifMatch.trim();
+        if (value.length() < 3 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new TodoVersionMismatchException();
+        }
+        try {
+            return Long.parseLong(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new TodoVersionMismatchException();
+        }
+    }
 }
@@ -0,0 +1,88 @@
+package com.isys3001.todo_backend.controller;
+
+import com.isys3001.todo_backend.changes.TodoChangeBus;
+import com.isys3001.todo_backend.changes.TodoChangeSubscription;
+import com.isys3001.todo_backend.changes.TodoStreamEvent;
+import com.isys3001.todo_backend.datasource.ReadYourWrites;
+import com.isys3001.todo_backend.dto.response.TodoChangesResponse;
+import com.isys3001.todo_backend.exception.InvalidRequestException;
+import com.isys3001.todo_backend.security.AuthenticatedUser;
+import com.isys3001.todo_backend.service.TodoService;
+import com.isys3001.todo_backend.utils.ChangeWatermark;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pushes the caller's todo changes as server-sent events, replacing list polling. Event ids are
+ * change-feed watermarks: on reconnect the browser sends the last one as {@code Last-Event-ID} and
+ * the missed changes are replayed from the database before live events resume.
+ */
+@RestController
+@RequestMapping("/api/todos")
+public class TodoStreamController {
+
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final TodoService service;
+    private final TodoChangeBus bus;
+    private final long timeoutMillis;
+
+    public TodoStreamController(TodoService service, TodoChangeBus bus,
+                                @Value("${todos.stream.timeout:30m}") Duration timeout) {
+        this.service = service;
+        this.bus = bus;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal AuthenticatedUser user,
+                             @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        // subscribe before reading the replay, so a change committed in between is buffered, not lost
+        TodoChangeSubscription subscription = bus.subscribe(user.id(), emitter);
+        try {
+            start(subscription, lastEventId);
+        } catch (RuntimeException | Error e) {
+            // the emitter is never handed to the async machinery, so its callbacks would not unsubscribe it
+            subscription.close(TodoChangeSubscription.CloseReason.CLOSED);
+            throw e;
+        }
+        return emitter;
+    }
+
+    private void start(TodoChangeSubscription subscription, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            subscription.start(List.of(), null);
+            return;
+        }
+
+        TodoChangesResponse missed;
+        // a lagging replica could miss changes committed before the subscription
+        ReadYourWrites.pinRequestToPrimary();
+        try {
+            // one page at most; a client further behind is told to page through GET /changes itself
+            missed = service.changes(lastEventId, Integer.MAX_VALUE);
+        } catch (InvalidRequestException e) {
+            // not one of our watermarks: the client has to resync from scratch
+            subscription.start(List.of(TodoStreamEvent.sync(0)), null);
+            return;
+        }
+        ChangeWatermark upTo = ChangeWatermark.decode(missed.watermark());
+        List<TodoStreamEvent> replay = new ArrayList<>(missed.changes().size() + 1);
+        missed.changes().forEach(change -> replay.add(TodoStreamEvent.of(change)));
+        if (missed.hasMore()) {
+            replay.add(TodoStreamEvent.sync(upTo.seq()));
+        }
+        subscription.start(replay, upTo);
+    }
+}
@@ -0,0 +1,95 @@
+package com.isys3001.todo_backend.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to the replica and everything else to the
+ * primary, unless {@link ReadYourWrites} or {@link ReplicaHealth} says the read must stay on the
+ * primary. If the replica refuses a connection, the read falls back to the primary.
+ * <p>
+ * The read-only flag is only known once the transaction has started, so this must sit behind a
+ * {@link LazyConnectionDataSourceProxy}, which defers the choice to the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReadYourWrites readYourWrites;
+    private final ReplicaHealth health;
+
+    private final Counter writes;
+    private final Counter replicaReads;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReadYourWrites readYourWrites,
+                                      ReplicaHealth health, MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.readYourWrites = readYourWrites;
+        this.health = health;
+        this.writes = routed(registry, Route.PRIMARY, "write");
+        this.replicaReads = routed(registry, Route.REPLICA, "read");
+        this.stickyReads = routed(registry, Route.PRIMARY, "read-your-writes");
+        this.fallbackReads = routed(registry, Route.PRIMARY, "replica-down");
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.onWriteTransaction();
+            }
+            writes.increment();
+            return Route.PRIMARY;
+        }
+        if (readYourWrites.mustReadPrimary()) {
+            stickyReads.increment();
+            return Route.PRIMARY;
+        }
+        if (!health.isUp()) {
+            fallbackReads.increment();
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target != replica) {
+            return target.getConnection();
+        }
+        try {
+            Connection con = replica.getConnection();
+            replicaReads.increment();
+            return con;
+        } catch (SQLException e) {
+            health.markDown(e);
+            fallbackReads.increment();
+            return primary.getConnection();
+        }
+    }
+
+    private static Counter routed(MeterRegistry registry, Route route, String reason) {
+        return Counter.builder("db.routing.connections")
+                .description("Connections handed out by the read/write routing data source")
+                .tag("route", route.name().toLowerCase())
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
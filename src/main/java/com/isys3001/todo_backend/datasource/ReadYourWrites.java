@@ -0,0 +1,74 @@
+package com.isys3001.todo_backend.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.isys3001.todo_backend.security.AuthenticatedUser;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Keeps reads that must see a recent write off the replica. After a write transaction commits,
+ * the rest of that request reads from the primary, and so does every request of the same user
+ * for the stickiness window, which should cover the replica's usual replication lag.
+ */
+public class ReadYourWrites {
+
+    private static final String PINNED = ReadYourWrites.class.getName() + ".PINNED";
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration stickiness, long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(stickiness)
+                .build();
+    }
+
+    /**
+     * Sends the remaining reads of the current request to the primary, for callers that cannot
+     * tolerate replica lag at all. Does nothing outside a request.
+     */
+    public static void pinRequestToPrimary() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(PINNED, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public boolean mustReadPrimary() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(PINNED, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        Long userId = currentUserId();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    /** Called when the current transaction takes a primary connection for writing. */
+    void onWriteTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Long userId = currentUserId();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pinRequestToPrimary();
+                if (userId != null) {
+                    recentWriters.put(userId, Boolean.TRUE);
+                }
+            }
+        });
+    }
+
+    private static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof AuthenticatedUser user ? user.id() : null;
+    }
+}
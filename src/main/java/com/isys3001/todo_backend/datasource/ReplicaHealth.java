@@ -0,0 +1,85 @@
+package com.isys3001.todo_backend.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks whether the read replica can take traffic. A failed probe, or a failed connection attempt
+ * while routing a read, takes it out of rotation at once; the next successful probe puts it back.
+ */
+@Slf4j
+public class ReplicaHealth implements MeterBinder {
+
+    private final DataSource replica;
+    private final Duration interval;
+    private final int timeoutSeconds;
+    private final ScheduledExecutorService prober = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "replica-health");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile boolean up = true;
+
+    public ReplicaHealth(DataSource replica, Duration interval, Duration timeout) {
+        this.replica = replica;
+        this.interval = interval;
+        // Connection.isValid takes whole seconds
+        this.timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+    }
+
+    @PostConstruct
+    public void start() {
+        prober.scheduleWithFixedDelay(this::probe, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        prober.shutdown();
+    }
+
+    public boolean isUp() {
+        return up;
+    }
+
+    void markDown(Exception cause) {
+        if (up) {
+            up = false;
+            log.warn("Read replica is down, routing all reads to the primary: {}", cause.toString());
+        }
+    }
+
+    void probe() {
+        try (Connection con = replica.getConnection()) {
+            if (!con.isValid(timeoutSeconds)) {
+                markDown(new SQLException("connection not valid within " + timeoutSeconds + "s"));
+                return;
+            }
+            if (!up) {
+                up = true;
+                log.info("Read replica is back, routing read-only transactions to it again");
+            }
+        } catch (SQLException | RuntimeException e) {
+            markDown(e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.replica.up", this, h -> h.up ? 1 : 0)
+                .description("1 while read-only transactions may use the replica")
+                .register(registry);
+    }
+}
@@ -0,0 +1,10 @@
+package com.isys3001.todo_backend.dto.request;
+
+import java.util.List;
+
+/** Any combination of creates, updates and deletes applied in a single transaction. */
+public record BulkTodoRequest(
+        List<CreateTodoRequest> create,
+        List<BulkUpdateTodoRequest> update,
+        List<Long> delete
+) {}
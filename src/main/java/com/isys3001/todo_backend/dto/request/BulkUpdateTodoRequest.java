@@ -0,0 +1,11 @@
+package com.isys3001.todo_backend.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record BulkUpdateTodoRequest(
+        @NotNull Long id,
+        @Size(max = 160) String title,
+        @Size(max = 10000) String description,
+        Boolean completed
+) {}
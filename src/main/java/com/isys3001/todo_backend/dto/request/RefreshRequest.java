@@ -0,0 +1,10 @@
+package com.isys3001.todo_backend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+@Data
+public class RefreshRequest {
+    @NotBlank
+    private String refreshToken;
+}
@@ -0,0 +1,19 @@
+package com.isys3001.todo_backend.dto.request;
+
+import java.time.Instant;
+
+/**
+ * Optional filters for listing todos; null fields are not applied.
+ * Time ranges are inclusive of {@code from} and exclusive of {@code to}.
+ */
+public record TodoFilter(
+        Boolean completed,
+        Instant createdFrom,
+        Instant createdTo,
+        Instant updatedFrom,
+        Instant updatedTo
+) {
+    public static TodoFilter none() {
+        return new TodoFilter(null, null, null, null, null);
+    }
+}
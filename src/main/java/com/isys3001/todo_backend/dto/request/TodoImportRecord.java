@@ -0,0 +1,8 @@
+package com.isys3001.todo_backend.dto.request;
+
+/** One todo from an import file; validated with the same limits as {@link CreateTodoRequest}. */
+public record TodoImportRecord(
+        String title,
+        String description,
+        Boolean completed
+) {}
@@ -0,0 +1,5 @@
+package com.isys3001.todo_backend.dto.response;
+
+public record AffectedRowsResponse(
+        int affected
+) {}
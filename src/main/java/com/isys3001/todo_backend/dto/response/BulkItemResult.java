@@ -0,0 +1,13 @@
+package com.isys3001.todo_backend.dto.response;
+
+/**
+ * Outcome of one item of a bulk request; {@code index} is its position in the request array
+ * and {@code status} uses the HTTP status the single-item endpoint would have returned.
+ */
+public record BulkItemResult(
+        int index,
+        Long id,
+        int status,
+        String error,
+        TodoResponse todo
+) {}
@@ -0,0 +1,9 @@
+package com.isys3001.todo_backend.dto.response;
+
+import java.util.List;
+
+public record BulkTodoResponse(
+        List<BulkItemResult> created,
+        List<BulkItemResult> updated,
+        List<BulkItemResult> deleted
+) {}
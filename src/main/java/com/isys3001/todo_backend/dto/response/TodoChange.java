@@ -0,0 +1,31 @@
+package com.isys3001.todo_backend.dto.response;
+
+import java.time.Instant;
+
+/**
+ * One entry of the change feed: {@code upsert} carries the todo as it is now, {@code delete} only its id.
+ * {@code seq} is the owner change sequence number of the write that produced it.
+ */
+public record TodoChange(
+        String op,
+        Long id,
+        long seq,
+        TodoResponse todo
+) {
+    public static final String UPSERT = "upsert";
+    public static final String DELETE = "delete";
+
+    // JPQL constructor expression for upserts
+    public TodoChange(Long id, String title, String description, boolean completed,
+                      Instant createdAt, Instant updatedAt, long version, long seq) {
+        this(UPSERT, id, seq, new TodoResponse(id, title, description, completed, createdAt, updatedAt, version));
+    }
+
+    public static TodoChange upserted(TodoResponse todo, long seq) {
+        return new TodoChange(UPSERT, todo.id(), seq, todo);
+    }
+
+    public static TodoChange deleted(Long id, long seq) {
+        return new TodoChange(DELETE, id, seq, null);
+    }
+}
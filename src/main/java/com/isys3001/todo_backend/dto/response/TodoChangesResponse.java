@@ -0,0 +1,13 @@
+package com.isys3001.todo_backend.dto.response;
+
+import java.util.List;
+
+/**
+ * A page of the change feed in (seq, id) order. {@code watermark} is passed back as {@code since}
+ * for the next call; when {@code hasMore} is false the client is up to date.
+ */
+public record TodoChangesResponse(
+        List<TodoChange> changes,
+        String watermark,
+        boolean hasMore
+) {}
@@ -0,0 +1,16 @@
+package com.isys3001.todo_backend.dto.response;
+
+import java.util.List;
+
+/**
+ * Outcome of an import. {@code errors} lists rejected records by line number and is capped;
+ * {@code errorsTruncated} says whether more records failed than are listed.
+ */
+public record TodoImportResponse(
+        long imported,
+        long failed,
+        List<LineError> errors,
+        boolean errorsTruncated
+) {
+    public record LineError(long line, String error) {}
+}
@@ -0,0 +1,20 @@
+package com.isys3001.todo_backend.dto.response;
+
+import java.time.Instant;
+
+/**
+ * Cheap aggregate over an owner's todos that changes whenever any of them is created,
+ * updated or deleted; used as the ETag for conditional list requests. {@code lastUpdatedAt}
+ * alone is not a validator: deleting a todo leaves it unchanged.
+ */
+public record TodoListVersion(
+        Long count,
+        Instant lastUpdatedAt,
+        Long versionSum
+) {
+    public String etag() {
+        long updated = lastUpdatedAt == null ? 0
+                : lastUpdatedAt.getEpochSecond() * 1_000_000_000L + lastUpdatedAt.getNano();
+        return "\"" + count + "-" + Long.toHexString(updated) + "-" + versionSum + "\"";
+    }
+}
@@ -0,0 +1,8 @@
+package com.isys3001.todo_backend.dto.response;
+
+import java.util.List;
+
+public record TodoPageResponse<T>(
+        List<T> items,
+        String next
+) {}
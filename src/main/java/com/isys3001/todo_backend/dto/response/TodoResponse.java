@@ -8,5 +8,6 @@ public record TodoResponse(
         String description,
         boolean completed,
         Instant createdAt,
-        Instant updatedAt
+        Instant updatedAt,
+        long version
 ) {}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.isys3001.todo_backend.dto.response;
+
+import java.time.Instant;
+
+/** A search result; {@code score} is engine-specific and only meaningful for ordering. */
+public record TodoSearchHit(
+        Long id,
+        String title,
+        boolean completed,
+        Instant createdAt,
+        Instant updatedAt,
+        double score
+) {}
@@ -0,0 +1,12 @@
+package com.isys3001.todo_backend.dto.response;
+
+import java.time.Instant;
+
+/** List view of a todo without the (potentially large) description. */
+public record TodoSummaryResponse(
+        Long id,
+        String title,
+        boolean completed,
+        Instant createdAt,
+        Instant updatedAt
+) {}
@@ -0,0 +1,7 @@
+package com.isys3001.todo_backend.dto.response;
+
+public record TokenResponse(
+        String token,
+        String refreshToken,
+        long expiresIn
+) {}
@@ -0,0 +1,54 @@
+package com.isys3001.todo_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A todo change waiting to be handed to the outbox sinks. Written in the transaction of the
+ * change itself, so an event exists exactly when the change committed.
+ */
+@Entity
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name = "todo_outbox")
+public class OutboxEvent {
+    // Pooled table ids (see V8 migration) keep the inserts of a bulk write in one JDBC batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "todo_outbox_ids")
+    @TableGenerator(name = "todo_outbox_ids", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "next_val", pkColumnValue = "todo_outbox", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long ownerId;
+
+    @Column(nullable = false)
+    private long changeSeq;
+
+    // upsert, delete or sync (too many todos changed to list; consumers re-read the owner)
+    @Column(nullable = false, length = 16)
+    private String eventType;
+
+    private Long todoId;
+
+    // the todo as JSON for upserts
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Column(nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    // set once max-attempts is reached; the dispatcher no longer picks the row up
+    private Instant deadAt;
+}
@@ -2,18 +2,28 @@ package com.isys3001.todo_backend.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 
 @Entity
 @Data
+@DynamicUpdate
 @Table(name = "todos")
+// only used when the l2cache profile turns the second-level cache on
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "todos")
 public class Todo {
 
+    // Pooled table ids (see V3 migration) keep JDBC insert batching on; IDENTITY would disable it
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "todo_ids")
+    @TableGenerator(name = "todo_ids", table = "id_generators", pkColumnName = "gen_name",
+            valueColumnName = "next_val", pkColumnValue = "todos", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 160)
@@ -33,6 +43,14 @@ public class Todo {
     @Column(nullable = false)
     private Instant updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    // owner change sequence of the last write to this row; drives GET /api/todos/changes
+    @Column(nullable = false)
+    private long changeSeq;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "owner_id", nullable = false)
     private User owner;
@@ -0,0 +1,27 @@
+package com.isys3001.todo_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Left behind when a todo is deleted, so the change feed can tell clients to drop it.
+ * Todo ids are never reused, which makes the todo id a safe primary key.
+ */
+@Entity
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name = "todo_tombstones")
+public class TodoTombstone {
+    @Id
+    private Long todoId;
+
+    @Column(nullable = false)
+    private Long ownerId;
+
+    @Column(nullable = false)
+    private long changeSeq;
+
+    @Column(nullable = false)
+    private Instant deletedAt;
+}
@@ -5,10 +5,15 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 @Table(name = "users", uniqueConstraints = @UniqueConstraint(columnNames = "email"))
+// only used when the l2cache profile turns the second-level cache on
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User {
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -22,4 +27,16 @@ public class User {
 
     @NotBlank
     private Role role; // could be enum later
+
+    // Bumped to revoke every token issued so far; tokens carry the version they were minted with.
+    // Like changeSeq it is only changed by repository UPDATEs (updatable = false), so saving a
+    // stale cached User can never roll it back.
+    @Builder.Default
+    @Column(nullable = false, updatable = false)
+    private long tokenVersion = 0;
+
+    // Last change sequence handed out for this user's todos; bumped under the row lock by every write
+    @Builder.Default
+    @Column(nullable = false, updatable = false)
+    private long changeSeq = 0;
 }
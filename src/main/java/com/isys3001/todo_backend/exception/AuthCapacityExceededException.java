@@ -0,0 +1,18 @@
+package com.isys3001.todo_backend.exception;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class AuthCapacityExceededException extends ResponseStatusException {
+    public AuthCapacityExceededException() {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent logins, retry shortly");
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return headers;
+    }
+}
@@ -0,0 +1,12 @@
+package com.isys3001.todo_backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** A client-supplied parameter is unusable (malformed cursor or watermark, empty search, oversized bulk). */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRequestException extends IllegalArgumentException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.isys3001.todo_backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class TodoNotFoundException extends IllegalArgumentException {
+    public TodoNotFoundException() {
+        super("Todo not found");
+    }
+}
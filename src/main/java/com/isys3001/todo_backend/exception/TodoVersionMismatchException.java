@@ -0,0 +1,11 @@
+package com.isys3001.todo_backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class TodoVersionMismatchException extends IllegalStateException {
+    public TodoVersionMismatchException() {
+        super("Todo was modified by another request");
+    }
+}
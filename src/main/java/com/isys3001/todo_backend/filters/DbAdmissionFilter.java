@@ -0,0 +1,94 @@
+package com.isys3001.todo_backend.filters;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of todo requests running at once just below the size of the connection pool.
+ * Tomcat's worker pool is already far larger than the connection pool, and with virtual threads
+ * the servlet container no longer limits concurrency at all, so without this the requests would
+ * queue inside Hikari and time out together. Requests that cannot get a permit within
+ * {@code db.admission.max-wait} are rejected with 503 instead.
+ * <p>
+ * {@code db.admission.reserved-connections} are kept out of the limit: todo and outbox ids come
+ * from table generators that fetch a new id block on a second, isolated connection while the
+ * inserting transaction still holds its own. With every connection held by an insert, that fetch
+ * waits for the pool timeout and all writers stall behind it.
+ */
+@Component
+@ConditionalOnProperty(name = "db.admission.enabled", havingValue = "true")
+public class DbAdmissionFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+
+    public DbAdmissionFilter(@Value("${spring.datasource.hikari.maximum-pool-size}") int poolSize,
+                             @Value("${db.admission.reserved-connections:2}") int reservedConnections,
+                             @Value("${db.admission.max-wait:2s}") Duration maxWait) {
+        this.permits = new Semaphore(Math.max(1, poolSize - reservedConnections), true);
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/todos");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server busy, retry shortly");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int queueLength() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("db.admission.available", this, DbAdmissionFilter::availablePermits)
+                .description("Todo requests that can still start without waiting")
+                .register(registry);
+        Gauge.builder("db.admission.waiting", this, DbAdmissionFilter::queueLength)
+                .description("Todo requests waiting for an admission permit")
+                .register(registry);
+    }
+}
@@ -1,27 +1,46 @@
 package com.isys3001.todo_backend.filters;
 
-import com.isys3001.todo_backend.service.impl.UserDetailsServiceImpl;
-import com.isys3001.todo_backend.utils.JwtUtil;
+import com.isys3001.todo_backend.security.AuthenticatedUser;
+import com.isys3001.todo_backend.security.TokenPrincipalResolver;
+import com.isys3001.todo_backend.utils.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
-    private final UserDetailsServiceImpl userDetailsService;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenPrincipalResolver principalResolver;
+    private final Timer verifyValid;
+    private final Timer verifyInvalid;
+    private final Timer resolveTimer;
+
+    public JwtAuthenticationFilter(VerifiedTokenCache tokenCache,
+                                   TokenPrincipalResolver principalResolver,
+                                   MeterRegistry registry) {
+        this.tokenCache = tokenCache;
+        this.principalResolver = principalResolver;
+        this.verifyValid = verifyTimer(registry, "valid");
+        this.verifyInvalid = verifyTimer(registry, "invalid");
+        this.resolveTimer = Timer.builder("auth.principal.resolve")
+                .description("Time to turn verified claims into the request principal")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -35,20 +54,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring(7);
-        String username = jwtUtil.extractUsername(token);
+        Claims claims;
+        Timer.Sample verify = Timer.start();
+        try {
+            // signature and expiry are checked here, once per distinct token
+            claims = tokenCache.verify(token);
+            verify.stop(verifyValid);
+        } catch (JwtException | IllegalArgumentException e) {
+            verify.stop(verifyInvalid);
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            if (jwtUtil.isTokenValid(token, userDetails.getUsername())) {
+        if (claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Timer.Sample resolve = Timer.start();
+            Optional<AuthenticatedUser> resolved = principalResolver.resolve(claims);
+            resolve.stop(resolveTimer);
+            resolved.ifPresent(principal -> {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
+                                principal, null, principal.authorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
+            });
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private static Timer verifyTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("auth.jwt.verify")
+                .description("JWT signature/expiry verification, including verified-token cache hits")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
 }
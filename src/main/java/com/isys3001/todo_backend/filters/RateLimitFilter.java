@@ -0,0 +1,106 @@
+package com.isys3001.todo_backend.filters;
+
+import com.isys3001.todo_backend.ratelimit.RateLimit;
+import com.isys3001.todo_backend.ratelimit.RateLimiter;
+import com.isys3001.todo_backend.security.AuthenticatedUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles each client before any real work is done. Auth endpoints are keyed by client IP
+ * (there is no user yet, and this is what slows down password guessing); todo endpoints are
+ * keyed by the authenticated user id, falling back to the IP. Runs after the JWT filter in the
+ * security chain, so the principal is already known. Over-limit requests get 429 + Retry-After.
+ * The IP is the remote address after forwarded headers from trusted proxies have been applied
+ * ({@code server.forward-headers-strategy}).
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter limiter;
+    private final boolean enabled;
+    private final RateLimit authLimit;
+    private final RateLimit todosLimit;
+    private final Counter authRejected;
+    private final Counter todosRejected;
+
+    public RateLimitFilter(RateLimiter limiter,
+                           MeterRegistry registry,
+                           @Value("${ratelimit.enabled:true}") boolean enabled,
+                           @Value("${ratelimit.auth.requests-per-second:5}") double authRate,
+                           @Value("${ratelimit.auth.burst:10}") int authBurst,
+                           @Value("${ratelimit.todos.requests-per-second:50}") double todosRate,
+                           @Value("${ratelimit.todos.burst:100}") int todosBurst) {
+        this.limiter = limiter;
+        this.enabled = enabled;
+        this.authLimit = new RateLimit(authRate, authBurst);
+        this.todosLimit = new RateLimit(todosRate, todosBurst);
+        this.authRejected = rejected(registry, "auth");
+        this.todosRejected = rejected(registry, "todos");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String uri = request.getRequestURI();
+        RateLimiter.Decision decision;
+        Counter rejected;
+        if (uri.startsWith("/api/v1/auth/")) {
+            decision = limiter.tryAcquire("auth:ip:" + request.getRemoteAddr(), authLimit);
+            rejected = authRejected;
+        } else if (uri.startsWith("/api/todos")) {
+            decision = limiter.tryAcquire("todos:" + clientKey(request), todosLimit);
+            rejected = todosRejected;
+        } else {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!decision.allowed()) {
+            rejected.increment();
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999L));
+            // written directly rather than via sendError, so the /error dispatch cannot replace the status
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+            response.setContentType("application/json");
+            response.getWriter().write("{\"status\":429,\"error\":\"Too Many Requests\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            return "user:" + principal.id();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static Counter rejected(MeterRegistry registry, String group) {
+        return Counter.builder("ratelimit.rejected")
+                .description("Requests answered with 429")
+                .tag("group", group)
+                .register(registry);
+    }
+}
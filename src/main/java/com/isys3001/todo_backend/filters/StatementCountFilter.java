@@ -0,0 +1,66 @@
+package com.isys3001.todo_backend.filters;
+
+import com.isys3001.todo_backend.metrics.StatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each request executed, tagged by route, so an N+1
+ * regression shows up as a jump in {@code http.server.requests.statements} rather than
+ * only as extra latency. Requests above {@code metrics.statements.warn-threshold} are logged.
+ * Work handed to another thread (the async login/register hashing pool) is not counted.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry registry;
+    private final int warnThreshold;
+
+    public StatementCountFilter(MeterRegistry registry,
+                                @Value("${metrics.statements.warn-threshold:20}") int warnThreshold) {
+        this.registry = registry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        StatementCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = StatementCounter.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+            DistributionSummary.builder("http.server.requests.statements")
+                    .description("SQL statements executed per request")
+                    .baseUnit("statements")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .serviceLevelObjectives(1, 2, 5, 10, 20, 50)
+                    .register(registry)
+                    .record(statements);
+
+            if (statements > warnThreshold) {
+                log.warn("{} {} executed {} SQL statements", request.getMethod(), uri, statements);
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.isys3001.todo_backend.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #begin()}
+ * and {@link #end()}. Registered as the session factory's statement inspector, so JPQL,
+ * Criteria and native queries are all counted; the SQL itself is passed through unchanged.
+ */
+public final class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public static void begin() {
+        COUNT.set(new int[1]);
+    }
+
+    /** Stops counting on this thread and returns the number of statements seen since {@link #begin()}. */
+    public static int end() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,29 @@
+package com.isys3001.todo_backend.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/** Analytics sink: counts committed todo changes by type as {@code todos.changes}. */
+@Component
+public class ChangeMetricsSink implements OutboxSink {
+
+    private final MeterRegistry registry;
+
+    public ChangeMetricsSink(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void handle(List<OutboxMessage> messages) {
+        for (OutboxMessage m : messages) {
+            Counter.builder("todos.changes")
+                    .description("Committed todo changes, counted from the outbox")
+                    .tag("type", m.type())
+                    .register(registry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.isys3001.todo_backend.outbox;
+
+import com.isys3001.todo_backend.entity.OutboxEvent;
+import com.isys3001.todo_backend.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves committed todo changes from the outbox table to the {@link OutboxSink}s in the background,
+ * so adding consumers never adds latency to a write. Each round claims up to batch-size due rows
+ * with SELECT ... FOR UPDATE SKIP LOCKED, so several instances can dispatch side by side without
+ * double delivery, hands the batch to every sink and deletes it. A failed batch is retried with
+ * exponential backoff and parked (dead_at) after max-attempts.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "todos.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxRepo;
+    private final List<OutboxSink> sinks;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration pollInterval;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "outbox-dispatcher");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final MeterRegistry registry;
+    private final Timer lag;
+    private final Counter dispatched;
+    private final Counter retried;
+    private final Counter dead;
+    private final DistributionSummary batchSizes;
+
+    public OutboxDispatcher(OutboxEventRepository outboxRepo, List<OutboxSink> sinks,
+                            PlatformTransactionManager transactionManager, MeterRegistry registry,
+                            @Value("${todos.outbox.batch-size:100}") int batchSize,
+                            @Value("${todos.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${todos.outbox.poll-interval:200ms}") Duration pollInterval,
+                            @Value("${todos.outbox.backoff:1s}") Duration baseBackoff,
+                            @Value("${todos.outbox.max-backoff:5m}") Duration maxBackoff) {
+        this.outboxRepo = outboxRepo;
+        this.sinks = sinks;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.pollInterval = pollInterval;
+        this.baseBackoff = baseBackoff;
+        this.maxBackoff = maxBackoff;
+        this.registry = registry;
+        this.lag = Timer.builder("todos.outbox.lag")
+                .description("Time from the committing write to the end of a successful dispatch")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.dispatched = Counter.builder("todos.outbox.dispatched")
+                .description("Outbox events delivered to every sink")
+                .register(registry);
+        this.retried = Counter.builder("todos.outbox.retried")
+                .description("Outbox events rescheduled after a sink failure")
+                .register(registry);
+        this.dead = Counter.builder("todos.outbox.dead")
+                .description("Outbox events parked after max-attempts failures")
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("todos.outbox.batch.size")
+                .description("Events claimed per dispatch round")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        log.info("Dispatching todo outbox to sinks {}", sinks.stream().map(OutboxSink::name).toList());
+        poller.scheduleWithFixedDelay(this::drain, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdown();
+    }
+
+    // keeps claiming while batches come back full, then waits for the next poll
+    void drain() {
+        try {
+            while (dispatchBatch() == batchSize) {
+                // backlog: go again straight away
+            }
+        } catch (RuntimeException e) {
+            log.warn("Outbox dispatch failed; retrying on next poll", e);
+        }
+    }
+
+    /** One claim-dispatch-delete round in its own transaction; returns the number of events claimed. */
+    int dispatchBatch() {
+        Integer claimed = tx.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxEvent> batch = outboxRepo.claimDue(now, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            batchSizes.record(batch.size());
+            List<OutboxMessage> messages = batch.stream().map(OutboxMessage::of).toList();
+
+            String failure = null;
+            for (OutboxSink sink : sinks) {
+                try {
+                    sinkTimer(sink).record(() -> handle(sink, messages));
+                } catch (SinkFailure e) {
+                    log.warn("Outbox sink {} failed on {} events", sink.name(), messages.size(), e.getCause());
+                    failure = sink.name() + ": " + e.getCause();
+                }
+            }
+
+            if (failure == null) {
+                outboxRepo.deleteByIds(batch.stream().map(OutboxEvent::getId).toList());
+                Instant done = Instant.now();
+                batch.forEach(e -> lag.record(Duration.between(e.getCreatedAt(), done)));
+                dispatched.increment(batch.size());
+            } else {
+                reschedule(batch, failure, now);
+            }
+            return batch.size();
+        });
+        return claimed == null ? 0 : claimed;
+    }
+
+    private void reschedule(List<OutboxEvent> batch, String failure, Instant now) {
+        // the rows are managed entities, so these changes are flushed when the round commits
+        String error = failure.length() > 500 ? failure.substring(0, 500) : failure;
+        List<OutboxEvent> parked = new ArrayList<>();
+        for (OutboxEvent e : batch) {
+            e.setAttempts(e.getAttempts() + 1);
+            e.setLastError(error);
+            if (e.getAttempts() >= maxAttempts) {
+                e.setDeadAt(now);
+                parked.add(e);
+            } else {
+                e.setNextAttemptAt(now.plus(backoff(e.getAttempts())));
+            }
+        }
+        retried.increment(batch.size() - parked.size());
+        dead.increment(parked.size());
+        if (!parked.isEmpty()) {
+            log.error("Parked {} outbox events after {} attempts: {}", parked.size(), maxAttempts, error);
+        }
+    }
+
+    // baseBackoff * 2^(attempts - 1), capped at maxBackoff
+    Duration backoff(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        Duration delay = baseBackoff.multipliedBy(1L << shift);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private Timer sinkTimer(OutboxSink sink) {
+        return Timer.builder("todos.outbox.sink")
+                .description("Time a sink takes to handle one batch")
+                .tag("sink", sink.name())
+                .register(registry);
+    }
+
+    private static void handle(OutboxSink sink, List<OutboxMessage> messages) {
+        try {
+            sink.handle(messages);
+        } catch (Exception e) {
+            throw new SinkFailure(e);
+        }
+    }
+
+    private static final class SinkFailure extends RuntimeException {
+        SinkFailure(Exception cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.isys3001.todo_backend.outbox;
+
+import com.isys3001.todo_backend.entity.OutboxEvent;
+
+import java.time.Instant;
+
+/**
+ * Read-only view of an outbox row handed to the sinks. {@code seq} is the owner change sequence
+ * number, so sinks can order and de-duplicate redelivered messages.
+ */
+public record OutboxMessage(
+        long id,
+        Long ownerId,
+        long seq,
+        String type,
+        Long todoId,
+        String payload,
+        Instant createdAt,
+        int attempt
+) {
+    static OutboxMessage of(OutboxEvent e) {
+        return new OutboxMessage(e.getId(), e.getOwnerId(), e.getChangeSeq(), e.getEventType(),
+                e.getTodoId(), e.getPayload(), e.getCreatedAt(), e.getAttempts() + 1);
+    }
+}
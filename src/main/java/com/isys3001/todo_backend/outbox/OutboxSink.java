@@ -0,0 +1,18 @@
+package com.isys3001.todo_backend.outbox;
+
+import java.util.List;
+
+/**
+ * Downstream consumer of committed todo changes (indexing, cache invalidation, analytics).
+ * Every sink bean is called by the outbox dispatcher, off the request path, with batches in
+ * outbox order. Delivery is at-least-once: when any sink fails, the whole batch is retried for
+ * every sink, so implementations must tolerate seeing a message again.
+ */
+public interface OutboxSink {
+
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    void handle(List<OutboxMessage> messages) throws Exception;
+}
@@ -0,0 +1,69 @@
+package com.isys3001.todo_backend.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Node-local limiter using the generic cell rate algorithm, which behaves like a token bucket
+ * but keeps a single "theoretical arrival time" per key, updated with one CAS and no locks.
+ * Keys live in a size-bounded cache that forgets idle clients, so memory stays flat however
+ * many distinct users or IPs are seen; a forgotten key simply starts with a full bucket.
+ */
+@Component
+@ConditionalOnProperty(name = "ratelimit.backend", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryRateLimiter implements RateLimiter, MeterBinder {
+
+    private final Cache<String, AtomicLong> buckets;
+    private final LongSupplier clock;
+
+    @Autowired
+    public InMemoryRateLimiter(@Value("${ratelimit.max-keys:1000000}") long maxKeys,
+                               @Value("${ratelimit.idle-expiry:10m}") Duration idleExpiry) {
+        this(maxKeys, idleExpiry, System::nanoTime);
+    }
+
+    InMemoryRateLimiter(long maxKeys, Duration idleExpiry, LongSupplier clock) {
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleExpiry)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Decision tryAcquire(String key, RateLimit limit) {
+        long interval = (long) (1_000_000_000L / limit.requestsPerSecond());
+        long tolerance = interval * (limit.burst() - 1);
+        AtomicLong tat = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+
+        while (true) {
+            long now = clock.getAsLong();
+            long current = tat.get();
+            long start = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long wait = start - now - tolerance;
+            if (wait > 0) {
+                return new Decision(false, wait);
+            }
+            if (tat.compareAndSet(current, start + interval)) {
+                return Decision.ALLOW;
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, buckets, "ratelimit.buckets");
+    }
+}
@@ -0,0 +1,11 @@
+package com.isys3001.todo_backend.ratelimit;
+
+/** A sustained rate plus the burst a client may send at once after being idle. */
+public record RateLimit(double requestsPerSecond, int burst) {
+
+    public RateLimit {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive rate and a burst of at least 1");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.isys3001.todo_backend.ratelimit;
+
+/**
+ * Token-bucket admission per key. The in-memory implementation limits each node separately;
+ * a shared backend (e.g. Redis) can implement this to enforce one limit across the cluster.
+ */
+public interface RateLimiter {
+
+    /** {@code retryAfterNanos} is how long until the request would have been admitted (0 when allowed). */
+    record Decision(boolean allowed, long retryAfterNanos) {
+        public static final Decision ALLOW = new Decision(true, 0);
+    }
+
+    Decision tryAcquire(String key, RateLimit limit);
+}
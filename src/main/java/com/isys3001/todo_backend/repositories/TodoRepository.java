@@ -1,12 +1,81 @@
 package com.isys3001.todo_backend.repositories;
 
+import com.isys3001.todo_backend.dto.response.TodoChange;
+import com.isys3001.todo_backend.dto.response.TodoListVersion;
+import com.isys3001.todo_backend.dto.response.TodoResponse;
 import com.isys3001.todo_backend.entity.Todo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface TodoRepository extends JpaRepository<Todo, Long> {
-    List<Todo> findByOwnerIdOrderByCreatedAtDesc(Long ownerId);
+public interface TodoRepository extends JpaRepository<Todo, Long>, TodoRepositoryCustom {
+    // query cache hints are ignored unless the l2cache profile enables the query cache
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "todo-lookups")
+    })
     Optional<Todo> findByIdAndOwnerId(Long id, Long ownerId);
-}
\ No newline at end of file
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "todo-lookups")
+    })
+    @Query("""
+            select new com.isys3001.todo_backend.dto.response.TodoResponse(
+                t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.version)
+            from Todo t
+            where t.id = :id and t.owner.id = :ownerId
+            """)
+    Optional<TodoResponse> findResponseByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    /** Todos written strictly after {@code (seq, id)}, in (changeSeq, id) order, as upsert changes. */
+    @Query("""
+            select new com.isys3001.todo_backend.dto.response.TodoChange(
+                t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.version, t.changeSeq)
+            from Todo t
+            where t.owner.id = :ownerId
+              and (t.changeSeq > :seq or (t.changeSeq = :seq and t.id > :id))
+            order by t.changeSeq, t.id
+            """)
+    List<TodoChange> findChangesAfter(@Param("ownerId") Long ownerId, @Param("seq") long seq,
+                                      @Param("id") long id, Limit limit);
+
+    @Query("""
+            select new com.isys3001.todo_backend.dto.response.TodoListVersion(
+                count(t), max(t.updatedAt), coalesce(sum(t.version), 0))
+            from Todo t
+            where t.owner.id = :ownerId
+            """)
+    TodoListVersion findListVersion(@Param("ownerId") Long ownerId);
+
+    @Modifying
+    @Query("delete from Todo t where t.id = :id and t.owner.id = :ownerId")
+    int deleteByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    List<Todo> findByOwnerIdAndIdIn(Long ownerId, Collection<Long> ids);
+
+    @Query("select t.id from Todo t where t.owner.id = :ownerId and t.id in :ids")
+    List<Long> findOwnedIds(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Todo t where t.owner.id = :ownerId and t.id in :ids")
+    int deleteOwned(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.completed = true, t.updatedAt = :now, t.version = t.version + 1, t.changeSeq = :seq where t.owner.id = :ownerId and t.completed = false")
+    int completeAllByOwnerId(@Param("ownerId") Long ownerId, @Param("now") Instant now, @Param("seq") long seq);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Todo t where t.owner.id = :ownerId and t.completed = true")
+    int deleteCompletedByOwnerId(@Param("ownerId") Long ownerId);
+}
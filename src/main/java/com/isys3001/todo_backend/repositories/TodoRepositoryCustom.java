@@ -0,0 +1,44 @@
+package com.isys3001.todo_backend.repositories;
+
+import com.isys3001.todo_backend.dto.request.TodoFilter;
+import com.isys3001.todo_backend.dto.request.UpdateTodoRequest;
+import com.isys3001.todo_backend.dto.response.TodoResponse;
+import com.isys3001.todo_backend.dto.response.TodoSummaryResponse;
+import com.isys3001.todo_backend.entity.Todo;
+import com.isys3001.todo_backend.utils.TodoCursor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface TodoRepositoryCustom {
+    /**
+     * One keyset page of an owner's todos, newest first, starting strictly after {@code after}
+     * (or from the top when null). Only the filters that are set end up in the WHERE clause.
+     * Rows are projected straight into the response, no entities are loaded.
+     */
+    List<TodoResponse> findPage(Long ownerId, TodoFilter filter, TodoCursor after, int limit);
+
+    /** Same as {@link #findPage} but never selects the description column. */
+    List<TodoSummaryResponse> findSummaryPage(Long ownerId, TodoFilter filter, TodoCursor after, int limit);
+
+    /**
+     * All of an owner's todos, newest first, read from an open result set with the given JDBC fetch
+     * size. Rows are projected straight into DTOs, so nothing accumulates in the persistence context.
+     * Must be consumed (and closed) inside a transaction.
+     */
+    Stream<TodoResponse> streamResponsesByOwnerId(Long ownerId, int fetchSize);
+
+    /**
+     * Applies the non-null fields of {@code changes} with a single owner-scoped UPDATE that only
+     * sets those columns, bumps the version and stamps {@code changeSeq}. When {@code expectedVersion}
+     * is set the row must still be at that version. Returns the affected row count (0 when missing, not owned or stale).
+     */
+    int updateOwned(Long id, Long ownerId, UpdateTodoRequest changes, Long expectedVersion, Instant now, long changeSeq);
+
+    /**
+     * Inserts new todos for an owner in JDBC batches of {@code jdbcBatchSize}, then flushes and
+     * clears the persistence context so repeated calls keep memory flat. Returns the rows written.
+     */
+    int insertAll(Long ownerId, List<Todo> todos, int jdbcBatchSize);
+}
@@ -0,0 +1,139 @@
+package com.isys3001.todo_backend.repositories;
+
+import com.isys3001.todo_backend.dto.request.TodoFilter;
+import com.isys3001.todo_backend.dto.request.UpdateTodoRequest;
+import com.isys3001.todo_backend.dto.response.TodoResponse;
+import com.isys3001.todo_backend.dto.response.TodoSummaryResponse;
+import com.isys3001.todo_backend.entity.Todo;
+import com.isys3001.todo_backend.entity.User;
+import com.isys3001.todo_backend.utils.TodoCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+class TodoRepositoryCustomImpl implements TodoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<TodoResponse> findPage(Long ownerId, TodoFilter filter, TodoCursor after, int limit) {
+        return page(TodoResponse.class, t -> new Selection<?>[]{
+                t.get("id"), t.get("title"), t.get("description"),
+                t.get("completed"), t.get("createdAt"), t.get("updatedAt"), t.get("version")
+        }, ownerId, filter, after, limit);
+    }
+
+    @Override
+    public List<TodoSummaryResponse> findSummaryPage(Long ownerId, TodoFilter filter, TodoCursor after, int limit) {
+        return page(TodoSummaryResponse.class, t -> new Selection<?>[]{
+                t.get("id"), t.get("title"),
+                t.get("completed"), t.get("createdAt"), t.get("updatedAt")
+        }, ownerId, filter, after, limit);
+    }
+
+    @Override
+    public Stream<TodoResponse> streamResponsesByOwnerId(Long ownerId, int fetchSize) {
+        return em.createQuery("""
+                        select new com.isys3001.todo_backend.dto.response.TodoResponse(
+                            t.id, t.title, t.description, t.completed, t.createdAt, t.updatedAt, t.version)
+                        from Todo t
+                        where t.owner.id = :ownerId
+                        order by t.createdAt desc, t.id desc
+                        """, TodoResponse.class)
+                .setParameter("ownerId", ownerId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public int updateOwned(Long id, Long ownerId, UpdateTodoRequest changes, Long expectedVersion, Instant now,
+                           long changeSeq) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaUpdate<Todo> u = cb.createCriteriaUpdate(Todo.class);
+        Root<Todo> t = u.from(Todo.class);
+
+        if (changes.title() != null && !changes.title().isBlank()) u.set(t.<String>get("title"), changes.title());
+        if (changes.description() != null) u.set(t.<String>get("description"), changes.description());
+        if (changes.completed() != null) u.set(t.<Boolean>get("completed"), changes.completed());
+        u.set(t.<Instant>get("updatedAt"), now);
+        u.set(t.<Long>get("version"), cb.sum(t.<Long>get("version"), 1L));
+        u.set(t.<Long>get("changeSeq"), changeSeq);
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(t.get("id"), id));
+        where.add(cb.equal(t.get("owner").get("id"), ownerId));
+        if (expectedVersion != null) where.add(cb.equal(t.get("version"), expectedVersion));
+        u.where(where.toArray(Predicate[]::new));
+        return em.createQuery(u).executeUpdate();
+    }
+
+    @Override
+    public int insertAll(Long ownerId, List<Todo> todos, int jdbcBatchSize) {
+        Session session = em.unwrap(Session.class);
+        Integer previous = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(jdbcBatchSize);
+        try {
+            // re-fetched per call: the previous clear() detached the last reference
+            User owner = em.getReference(User.class, ownerId);
+            for (Todo t : todos) {
+                t.setOwner(owner);
+                em.persist(t);
+            }
+            em.flush();
+            em.clear();
+            return todos.size();
+        } finally {
+            session.setJdbcBatchSize(previous);
+        }
+    }
+
+    private <T> List<T> page(Class<T> type, Function<Root<Todo>, Selection<?>[]> columns,
+                             Long ownerId, TodoFilter filter, TodoCursor after, int limit) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<T> q = cb.createQuery(type);
+        Root<Todo> t = q.from(Todo.class);
+
+        q.select(cb.construct(type, columns.apply(t)))
+                .where(predicates(cb, t, ownerId, filter, after).toArray(Predicate[]::new))
+                .orderBy(cb.desc(t.get("createdAt")), cb.desc(t.get("id")));
+
+        return em.createQuery(q).setMaxResults(limit).getResultList();
+    }
+
+    private static List<Predicate> predicates(CriteriaBuilder cb, Root<Todo> t,
+                                              Long ownerId, TodoFilter filter, TodoCursor after) {
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(t.get("owner").get("id"), ownerId));
+
+        if (filter.completed() != null) where.add(cb.equal(t.get("completed"), filter.completed()));
+        if (filter.createdFrom() != null) where.add(cb.greaterThanOrEqualTo(t.<Instant>get("createdAt"), filter.createdFrom()));
+        if (filter.createdTo() != null) where.add(cb.lessThan(t.<Instant>get("createdAt"), filter.createdTo()));
+        if (filter.updatedFrom() != null) where.add(cb.greaterThanOrEqualTo(t.<Instant>get("updatedAt"), filter.updatedFrom()));
+        if (filter.updatedTo() != null) where.add(cb.lessThan(t.<Instant>get("updatedAt"), filter.updatedTo()));
+
+        if (after != null) {
+            // (createdAt, id) < (cursor.createdAt, cursor.id), matching the descending sort
+            where.add(cb.or(
+                    cb.lessThan(t.<Instant>get("createdAt"), after.createdAt()),
+                    cb.and(
+                            cb.equal(t.get("createdAt"), after.createdAt()),
+                            cb.lessThan(t.<Long>get("id"), after.id()))));
+        }
+        return where;
+    }
+}
@@ -0,0 +1,43 @@
+package com.isys3001.todo_backend.repositories;
+
+import com.isys3001.todo_backend.entity.TodoTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface TodoTombstoneRepository extends JpaRepository<TodoTombstone, Long> {
+
+    // insert-select, so only ids that are really the owner's get a tombstone; must run before the DELETE
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            insert into TodoTombstone (todoId, ownerId, changeSeq, deletedAt)
+            select t.id, t.owner.id, :seq, :now from Todo t
+            where t.owner.id = :ownerId and t.id in :ids
+            """)
+    int insertForOwned(@Param("ownerId") Long ownerId, @Param("ids") Collection<Long> ids,
+                       @Param("seq") long seq, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            insert into TodoTombstone (todoId, ownerId, changeSeq, deletedAt)
+            select t.id, t.owner.id, :seq, :now from Todo t
+            where t.owner.id = :ownerId and t.completed = true
+            """)
+    int insertForCompleted(@Param("ownerId") Long ownerId, @Param("seq") long seq, @Param("now") Instant now);
+
+    /** Tombstones strictly after {@code (seq, todoId)} in (changeSeq, todoId) order. */
+    @Query("""
+            select t from TodoTombstone t
+            where t.ownerId = :ownerId
+              and (t.changeSeq > :seq or (t.changeSeq = :seq and t.todoId > :todoId))
+            order by t.changeSeq, t.todoId
+            """)
+    List<TodoTombstone> findAfter(@Param("ownerId") Long ownerId, @Param("seq") long seq,
+                                  @Param("todoId") long todoId, Limit limit);
+}
@@ -1,10 +1,42 @@
 package com.isys3001.todo_backend.repositories;
 
 import com.isys3001.todo_backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "user-lookups")
+    })
     Optional<User> findByEmail(String email);
+
+    @Query("select u.tokenVersion from User u where u.id = :id")
+    Optional<Long> findTokenVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    // The UPDATE row-locks the user until commit, so one owner's writes get their numbers in commit order.
+    // Native with its own query space: every todo write runs this, and a JPQL update of User would
+    // evict the whole users cache region and every cached user query each time (l2cache profile).
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users_change_seq"))
+    @Query(value = "update users set change_seq = change_seq + 1 where id = :id", nativeQuery = true)
+    int incrementChangeSeq(@Param("id") Long id);
+
+    @Query("select u.changeSeq from User u where u.id = :id")
+    Optional<Long> findChangeSeqById(@Param("id") Long id);
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
 }
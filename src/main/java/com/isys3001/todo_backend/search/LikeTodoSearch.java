@@ -0,0 +1,66 @@
+package com.isys3001.todo_backend.search;
+
+import com.isys3001.todo_backend.dto.response.TodoSearchHit;
+import com.isys3001.todo_backend.entity.Todo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Portable fallback for H2 (tests, local runs): word-prefix LIKE matching within the owner's
+ * rows, ranked by how many terms hit the title, then by recency. It scans the owner's todos,
+ * so use the {@code mysql} engine for large lists.
+ */
+@Component
+@ConditionalOnProperty(name = "todos.search.engine", havingValue = "like", matchIfMissing = true)
+public class LikeTodoSearch implements TodoSearch {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<TodoSearchHit> search(Long ownerId, SearchTerms terms, int offset, int limit) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<Object[]> q = cb.createQuery(Object[].class);
+        Root<Todo> t = q.from(Todo.class);
+        Expression<String> title = cb.lower(t.get("title"));
+        Expression<String> description = cb.lower(cb.coalesce(t.<String>get("description"), ""));
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(t.get("owner").get("id"), ownerId));
+        Expression<Integer> titleHits = cb.literal(0);
+        for (String term : terms.terms()) {
+            Predicate inTitle = startsWord(cb, title, term);
+            where.add(cb.or(inTitle, startsWord(cb, description, term)));
+            titleHits = cb.sum(titleHits, cb.<Integer>selectCase().when(inTitle, 1).otherwise(0));
+        }
+
+        q.multiselect(t.get("id"), t.get("title"), t.get("completed"), t.get("createdAt"), t.get("updatedAt"), titleHits)
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(titleHits), cb.desc(t.get("createdAt")), cb.desc(t.get("id")));
+
+        return em.createQuery(q)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(r -> new TodoSearchHit((Long) r[0], (String) r[1], (Boolean) r[2],
+                        (Instant) r[3], (Instant) r[4], ((Number) r[5]).doubleValue()))
+                .toList();
+    }
+
+    // term at the start of the text or after a space
+    private static Predicate startsWord(CriteriaBuilder cb, Expression<String> text, String term) {
+        return cb.or(cb.like(text, term + "%"), cb.like(text, "% " + term + "%"));
+    }
+}
@@ -0,0 +1,61 @@
+package com.isys3001.todo_backend.search;
+
+import com.isys3001.todo_backend.dto.response.TodoSearchHit;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Uses the InnoDB FULLTEXT index on (title, description) from the V6 migration, in boolean mode
+ * so every term is required and matched as a prefix. Relevance is MySQL's BM25-style score.
+ * Terms shorter than {@code innodb_ft_min_token_size} (3 by default) are not indexed.
+ */
+@Component
+@ConditionalOnProperty(name = "todos.search.engine", havingValue = "mysql")
+public class MySqlFullTextTodoSearch implements TodoSearch {
+
+    private static final String SQL = """
+            SELECT id, title, completed, created_at, updated_at,
+                   MATCH(title, description) AGAINST(:q IN BOOLEAN MODE) AS score
+            FROM todos
+            WHERE owner_id = :ownerId AND MATCH(title, description) AGAINST(:q IN BOOLEAN MODE)
+            ORDER BY score DESC, id DESC
+            LIMIT :limit OFFSET :offset
+            """;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TodoSearchHit> search(Long ownerId, SearchTerms terms, int offset, int limit) {
+        List<Object[]> rows = em.createNativeQuery(SQL)
+                .setParameter("q", terms.booleanMode())
+                .setParameter("ownerId", ownerId)
+                .setParameter("limit", limit)
+                .setParameter("offset", offset)
+                .getResultList();
+        return rows.stream()
+                .map(r -> new TodoSearchHit(
+                        ((Number) r[0]).longValue(), (String) r[1], toBoolean(r[2]),
+                        toInstant(r[3]), toInstant(r[4]), ((Number) r[5]).doubleValue()))
+                .toList();
+    }
+
+    private static boolean toBoolean(Object value) {
+        return value instanceof Boolean b ? b : ((Number) value).intValue() != 0;
+    }
+
+    private static Instant toInstant(Object value) {
+        if (value instanceof Instant i) return i;
+        if (value instanceof Timestamp ts) return ts.toInstant();
+        return ((LocalDateTime) value).toInstant(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,40 @@
+package com.isys3001.todo_backend.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The words of a search query, lower-cased and stripped of operator characters. Every term
+ * must match, and matches on prefixes ("rep" finds "report").
+ */
+public record SearchTerms(List<String> terms) {
+
+    static final int MAX_TERMS = 8;
+
+    public static SearchTerms parse(String query) {
+        if (query == null) {
+            return new SearchTerms(List.of());
+        }
+        List<String> terms = Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(t -> !t.isEmpty())
+                .distinct()
+                .limit(MAX_TERMS)
+                .toList();
+        return new SearchTerms(terms);
+    }
+
+    public boolean isEmpty() {
+        return terms.isEmpty();
+    }
+
+    /** MySQL boolean-mode expression: {@code +term1* +term2*}. */
+    public String booleanMode() {
+        StringBuilder sb = new StringBuilder();
+        for (String t : terms) {
+            if (!sb.isEmpty()) sb.append(' ');
+            sb.append('+').append(t).append('*');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,15 @@
+package com.isys3001.todo_backend.search;
+
+import com.isys3001.todo_backend.dto.response.TodoSearchHit;
+
+import java.util.List;
+
+/**
+ * Owner-scoped search over todo titles and descriptions, best match first. Implementations
+ * read the database's own index, so every write path (including bulk updates and deletes)
+ * is reflected without extra indexing calls.
+ */
+public interface TodoSearch {
+
+    List<TodoSearchHit> search(Long ownerId, SearchTerms terms, int offset, int limit);
+}
@@ -0,0 +1,28 @@
+package com.isys3001.todo_backend.security;
+
+import com.isys3001.todo_backend.enums.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Lightweight principal placed in the security context by the JWT filter.
+ * Carries just enough to scope todo queries without touching the users table.
+ */
+public record AuthenticatedUser(
+        Long id,
+        String email,
+        Role role
+) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+}
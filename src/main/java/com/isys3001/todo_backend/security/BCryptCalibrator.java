@@ -0,0 +1,34 @@
+package com.isys3001.todo_backend.security;
+
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+
+/**
+ * Picks the highest BCrypt cost whose hash time on this machine fits a latency budget.
+ * Each extra cost step doubles the work, so one timed run at the minimum cost is enough.
+ */
+public final class BCryptCalibrator {
+
+    static final int MIN_STRENGTH = 10;
+    static final int MAX_STRENGTH = 16;
+
+    private BCryptCalibrator() {}
+
+    public static int calibrate(Duration target) {
+        String salt = BCrypt.gensalt(MIN_STRENGTH);
+        BCrypt.hashpw("calibration-warmup", salt);
+
+        long start = System.nanoTime();
+        BCrypt.hashpw("calibration-password", salt);
+        long nanosAtMin = Math.max(System.nanoTime() - start, 1);
+
+        int strength = MIN_STRENGTH;
+        long nanos = nanosAtMin;
+        while (strength < MAX_STRENGTH && nanos * 2 <= target.toNanos()) {
+            nanos *= 2;
+            strength++;
+        }
+        return strength;
+    }
+}
@@ -0,0 +1,35 @@
+package com.isys3001.todo_backend.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt encoder that asks for a re-hash whenever a stored hash was made with a different cost
+ * than the configured one, in either direction, so lowering the cost to meet a latency budget
+ * takes effect as users log in (the stock encoder only ever upgrades).
+ */
+public class RehashingBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final int strength;
+
+    public RehashingBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int strength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // $2a$10$... -> cost is the two digits after the version prefix
+        if (encodedPassword == null || encodedPassword.length() < 7) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
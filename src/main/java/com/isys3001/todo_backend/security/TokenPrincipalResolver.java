@@ -0,0 +1,104 @@
+package com.isys3001.todo_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.isys3001.todo_backend.enums.Role;
+import com.isys3001.todo_backend.repositories.UserRepository;
+import com.isys3001.todo_backend.utils.AfterCommit;
+import com.isys3001.todo_backend.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Turns verified token claims into an {@link AuthenticatedUser}.
+ * <p>
+ * In {@code claims} mode the id and role come straight from the token; the only database
+ * access is a token-version check that is cached for a short TTL, so deleted users and
+ * revoked tokens are rejected within that window. In {@code lookup} mode, or for tokens
+ * issued before the id claim existed, the user is resolved by email through the
+ * {@link UserSnapshotCache}.
+ */
+@Component
+public class TokenPrincipalResolver implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final UserSnapshotCache userCache;
+    private final boolean claimsMode;
+    private final Cache<Long, Long> tokenVersions;
+
+    public TokenPrincipalResolver(UserRepository userRepository,
+                                  UserSnapshotCache userCache,
+                                  @Value("${jwt.principal.mode:claims}") String mode,
+                                  @Value("${jwt.principal.version-cache-ttl:30s}") Duration versionTtl,
+                                  @Value("${jwt.principal.version-cache-max-size:100000}") long versionCacheSize) {
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.claimsMode = "claims".equalsIgnoreCase(mode);
+        this.tokenVersions = Caffeine.newBuilder()
+                .maximumSize(versionCacheSize)
+                .expireAfterWrite(versionTtl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<AuthenticatedUser> resolve(Claims claims) {
+        Number userId = claims.get(JwtUtil.CLAIM_USER_ID, Number.class);
+        if (claimsMode && userId != null) {
+            Long currentVersion = tokenVersions.get(userId.longValue(),
+                    id -> userRepository.findTokenVersionById(id).orElse(null));
+            if (currentVersion == null || currentVersion != tokenVersion(claims)) {
+                return Optional.empty();
+            }
+            return role(claims).map(role -> new AuthenticatedUser(userId.longValue(), claims.getSubject(), role));
+        }
+
+        return userCache.findByEmail(claims.getSubject())
+                .filter(u -> userId == null || u.tokenVersion() == tokenVersion(claims))
+                .map(UserSnapshot::toPrincipal);
+    }
+
+    /**
+     * Drops the cached token version so a revocation takes effect immediately on this node. Called
+     * inside the revoking transaction, it evicts again after commit, so a request that re-read the
+     * old version in the meantime cannot keep it cached for the TTL.
+     */
+    public void evictTokenVersion(Long userId) {
+        AfterCommit.evict(() -> tokenVersions.invalidate(userId));
+    }
+
+    public CacheStats tokenVersionStats() {
+        return tokenVersions.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, tokenVersions, "jwt.token-versions");
+    }
+
+    // no claim means the default role; a value this build does not know (e.g. "null" from older
+    // tokens) is not trusted, so the request stays unauthenticated until the client gets a new token
+    private static Optional<Role> role(Claims claims) {
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        if (role == null) {
+            return Optional.of(Role.USER);
+        }
+        try {
+            return Optional.of(Role.valueOf(role));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static long tokenVersion(Claims claims) {
+        Number version = claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Number.class);
+        return version != null ? version.longValue() : 0L;
+    }
+}
@@ -0,0 +1,25 @@
+package com.isys3001.todo_backend.security;
+
+import com.isys3001.todo_backend.entity.User;
+import com.isys3001.todo_backend.enums.Role;
+
+/**
+ * Immutable copy of the user fields needed for authentication, safe to share across
+ * requests and threads (unlike a managed {@link User} entity).
+ */
+public record UserSnapshot(
+        Long id,
+        String email,
+        String passwordHash,
+        Role role,
+        long tokenVersion
+) {
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(user.getId(), user.getEmail(), user.getPassword(),
+                user.getRole(), user.getTokenVersion());
+    }
+
+    public AuthenticatedUser toPrincipal() {
+        return new AuthenticatedUser(id, email, role);
+    }
+}
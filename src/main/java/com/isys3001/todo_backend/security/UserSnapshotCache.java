@@ -0,0 +1,60 @@
+package com.isys3001.todo_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.isys3001.todo_backend.repositories.UserRepository;
+import com.isys3001.todo_backend.utils.AfterCommit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache of {@link UserRepository#findByEmail} for the authentication paths.
+ * Only hits are cached, so a miss never hides a user registered afterwards. Any code that
+ * changes a user must call {@link #invalidate(String)}.
+ */
+@Component
+public class UserSnapshotCache implements MeterBinder {
+
+    private final UserRepository userRepository;
+    private final Cache<String, UserSnapshot> cache;
+
+    public UserSnapshotCache(UserRepository userRepository,
+                             @Value("${users.cache.max-size:10000}") long maxSize,
+                             @Value("${users.cache.ttl:5m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<UserSnapshot> findByEmail(String email) {
+        return Optional.ofNullable(cache.get(email,
+                e -> userRepository.findByEmail(e).map(UserSnapshot::of).orElse(null)));
+    }
+
+    /**
+     * Drops the cached snapshot. Called inside the transaction that changes the user, it evicts
+     * again after commit, so a login that re-read the old row in the meantime cannot keep it cached.
+     */
+    public void invalidate(String email) {
+        AfterCommit.evict(() -> cache.invalidate(email));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "users.snapshots");
+    }
+}
@@ -1,9 +1,14 @@
 package com.isys3001.todo_backend.service;
 
 import com.isys3001.todo_backend.dto.request.LoginRequest;
+import com.isys3001.todo_backend.dto.request.RefreshRequest;
 import com.isys3001.todo_backend.dto.request.RegisterRequest;
+import com.isys3001.todo_backend.dto.response.TokenResponse;
 
 public interface AuthenticationService {
     String register(RegisterRequest req);
-    String login(LoginRequest req);
+    TokenResponse login(LoginRequest req);
+    TokenResponse refresh(RefreshRequest req);
+    String logout(RefreshRequest req);
+    String revokeTokens();
 }
\ No newline at end of file
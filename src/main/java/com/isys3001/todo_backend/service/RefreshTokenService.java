@@ -0,0 +1,19 @@
+package com.isys3001.todo_backend.service;
+
+public interface RefreshTokenService {
+
+    record Rotation(Long userId, String refreshToken) {}
+
+    /** Starts a new token family for the user and returns the opaque token. */
+    String issue(Long userId);
+
+    /**
+     * Exchanges a valid token for the next one in its family. Presenting a token that was
+     * already rotated revokes the whole family (token theft is assumed).
+     */
+    Rotation rotate(String refreshToken);
+
+    void revokeFamily(String refreshToken);
+
+    void revokeAllForUser(Long userId);
+}
@@ -1,16 +1,58 @@
 package com.isys3001.todo_backend.service;
 
 
+import com.isys3001.todo_backend.dto.request.BulkTodoRequest;
 import com.isys3001.todo_backend.dto.request.CreateTodoRequest;
+import com.isys3001.todo_backend.dto.request.TodoFilter;
 import com.isys3001.todo_backend.dto.request.UpdateTodoRequest;
+import com.isys3001.todo_backend.dto.response.BulkTodoResponse;
+import com.isys3001.todo_backend.dto.response.TodoChangesResponse;
+import com.isys3001.todo_backend.dto.response.TodoImportResponse;
+import com.isys3001.todo_backend.dto.response.TodoListVersion;
+import com.isys3001.todo_backend.dto.response.TodoPageResponse;
 import com.isys3001.todo_backend.dto.response.TodoResponse;
+import com.isys3001.todo_backend.dto.response.TodoSearchHit;
+import com.isys3001.todo_backend.dto.response.TodoSummaryResponse;
+import com.isys3001.todo_backend.utils.TodoImportReader;
 
-import java.util.List;
+import java.util.Iterator;
+import java.util.function.Consumer;
 
 public interface TodoService {
     TodoResponse create(CreateTodoRequest req);
-    List<TodoResponse> listMine();
+    TodoPageResponse<TodoResponse> listMine(TodoFilter filter, String cursor, Integer limit);
+    TodoPageResponse<TodoSummaryResponse> listMineSummaries(TodoFilter filter, String cursor, Integer limit);
+    TodoListVersion listVersion();
+
+    /** Best matches first; {@code cursor} is the opaque {@code next} value of the previous page. */
+    TodoPageResponse<TodoSearchHit> search(String query, String cursor, Integer limit);
+
+    /** Passes every todo of the current user to {@code sink}, one at a time, without loading them all. */
+    void exportMine(Consumer<TodoResponse> sink);
+
+    /**
+     * Todos created, updated or deleted after {@code since} (the {@code watermark} of the previous
+     * call, or null for a full sync), oldest change first.
+     */
+    TodoChangesResponse changes(String since, Integer limit);
+
     TodoResponse get(Long id);
-    TodoResponse update(Long id, UpdateTodoRequest req);
+    TodoResponse update(Long id, UpdateTodoRequest req, Long expectedVersion);
+
+    default TodoResponse update(Long id, UpdateTodoRequest req) {
+        return update(id, req, null);
+    }
+
     void delete(Long id);
+    BulkTodoResponse bulk(BulkTodoRequest req);
+
+    /**
+     * Creates a todo for every valid row, reading rows lazily, and reports the rejected ones by line.
+     * The owner's change sequence stays locked until the rows are consumed, so pass an already
+     * buffered source (see {@link com.isys3001.todo_backend.utils.TodoImportSpool}), not a request body.
+     */
+    TodoImportResponse importMine(Iterator<TodoImportReader.Row> rows);
+
+    int completeAll();
+    int deleteCompleted();
 }
@@ -1,15 +1,25 @@
 package com.isys3001.todo_backend.service.impl;
 
 import com.isys3001.todo_backend.dto.request.LoginRequest;
+import com.isys3001.todo_backend.dto.request.RefreshRequest;
 import com.isys3001.todo_backend.dto.request.RegisterRequest;
+import com.isys3001.todo_backend.dto.response.TokenResponse;
 import com.isys3001.todo_backend.entity.User;
 import com.isys3001.todo_backend.enums.Role;
+import com.isys3001.todo_backend.exception.InvalidRefreshTokenException;
 import com.isys3001.todo_backend.repositories.UserRepository;
+import com.isys3001.todo_backend.security.AuthenticatedUser;
+import com.isys3001.todo_backend.security.TokenPrincipalResolver;
+import com.isys3001.todo_backend.security.UserSnapshot;
+import com.isys3001.todo_backend.security.UserSnapshotCache;
 import com.isys3001.todo_backend.service.AuthenticationService;
+import com.isys3001.todo_backend.service.RefreshTokenService;
 import com.isys3001.todo_backend.utils.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +32,9 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authManager;
     private final JwtUtil jwtUtil;
+    private final TokenPrincipalResolver principalResolver;
+    private final UserSnapshotCache userCache;
+    private final RefreshTokenService refreshTokenService;
 
     @Override
     @Transactional
@@ -37,13 +50,53 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 .build();
 
         userRepository.save(user);
+        userCache.invalidate(user.getEmail());
         return "User registered successfully";
     }
 
     @Override
-    public String login(LoginRequest req) {
+    public TokenResponse login(LoginRequest req) {
         authManager.authenticate(
                 new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword()));
-        return jwtUtil.generateToken(req.getEmail());
+        // authenticate() just loaded this user through the cache, so this is a hit
+        UserSnapshot user = userCache.findByEmail(req.getEmail())
+                .orElseThrow(() -> new IllegalStateException("Authenticated user not found: " + req.getEmail()));
+        return tokens(user, refreshTokenService.issue(user.id()));
+    }
+
+    @Override
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public TokenResponse refresh(RefreshRequest req) {
+        // no password check here: the rotated refresh token is the credential
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(req.getRefreshToken());
+        UserSnapshot user = userRepository.findById(rotation.userId())
+                .map(UserSnapshot::of)
+                .orElseThrow(() -> new InvalidRefreshTokenException("Unknown refresh token"));
+        return tokens(user, rotation.refreshToken());
+    }
+
+    @Override
+    public String logout(RefreshRequest req) {
+        refreshTokenService.revokeFamily(req.getRefreshToken());
+        return "Logged out";
+    }
+
+    @Override
+    @Transactional
+    public String revokeTokens() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof AuthenticatedUser principal)) {
+            throw new IllegalStateException("No authenticated user");
+        }
+        userRepository.incrementTokenVersion(principal.id());
+        refreshTokenService.revokeAllForUser(principal.id());
+        principalResolver.evictTokenVersion(principal.id());
+        userCache.invalidate(principal.email());
+        return "All tokens revoked";
+    }
+
+    private TokenResponse tokens(UserSnapshot user, String refreshToken) {
+        return new TokenResponse(jwtUtil.generateToken(user), refreshToken,
+                jwtUtil.accessTokenTtl().toSeconds());
     }
 }
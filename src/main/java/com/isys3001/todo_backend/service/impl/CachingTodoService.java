@@ -0,0 +1,151 @@
+package com.isys3001.todo_backend.service.impl;
+
+import com.isys3001.todo_backend.cache.TodoListCache;
+import com.isys3001.todo_backend.cache.TodoListCacheKey;
+import com.isys3001.todo_backend.datasource.ReadYourWrites;
+import com.isys3001.todo_backend.dto.request.BulkTodoRequest;
+import com.isys3001.todo_backend.dto.request.CreateTodoRequest;
+import com.isys3001.todo_backend.dto.request.TodoFilter;
+import com.isys3001.todo_backend.dto.request.UpdateTodoRequest;
+import com.isys3001.todo_backend.dto.response.BulkTodoResponse;
+import com.isys3001.todo_backend.dto.response.TodoChangesResponse;
+import com.isys3001.todo_backend.dto.response.TodoImportResponse;
+import com.isys3001.todo_backend.dto.response.TodoListVersion;
+import com.isys3001.todo_backend.dto.response.TodoPageResponse;
+import com.isys3001.todo_backend.dto.response.TodoResponse;
+import com.isys3001.todo_backend.dto.response.TodoSearchHit;
+import com.isys3001.todo_backend.dto.response.TodoSummaryResponse;
+import com.isys3001.todo_backend.security.AuthenticatedUser;
+import com.isys3001.todo_backend.service.TodoService;
+import com.isys3001.todo_backend.utils.TodoImportReader;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the list endpoints in front of {@link TodoServiceImpl}.
+ * Writes go straight to the delegate, whose transaction has committed by the time it returns,
+ * and then invalidate the owner's cached lists. Off unless {@code todos.list-cache.enabled} is set.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "todos.list-cache.enabled", havingValue = "true")
+public class CachingTodoService implements TodoService {
+
+    private final TodoServiceImpl delegate;
+    private final TodoListCache cache;
+
+    public CachingTodoService(TodoServiceImpl delegate, TodoListCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    private static Long currentOwnerId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getPrincipal() instanceof AuthenticatedUser principal ? principal.id() : null;
+    }
+
+    private <V> V cached(String view, TodoFilter filter, String cursor, Integer limit, Supplier<V> loader) {
+        Long ownerId = currentOwnerId();
+        if (ownerId == null) {
+            return loader.get();
+        }
+        // take the generation before loading, so a concurrent write can only leave us with a stale key
+        TodoListCacheKey key = new TodoListCacheKey(ownerId, cache.generation(ownerId), view, filter, cursor, limit);
+        return cache.get(key, () -> {
+            // a miss is kept for the cache TTL, far longer than any replica lag, so it is read from the primary
+            ReadYourWrites.pinRequestToPrimary();
+            return loader.get();
+        });
+    }
+
+    private <V> V invalidating(Supplier<V> write) {
+        try {
+            return write.get();
+        } finally {
+            Long ownerId = currentOwnerId();
+            if (ownerId != null) {
+                cache.invalidateOwner(ownerId);
+            }
+        }
+    }
+
+    @Override
+    public TodoPageResponse<TodoResponse> listMine(TodoFilter filter, String cursor, Integer limit) {
+        return cached("full", filter, cursor, limit, () -> delegate.listMine(filter, cursor, limit));
+    }
+
+    @Override
+    public TodoPageResponse<TodoSummaryResponse> listMineSummaries(TodoFilter filter, String cursor, Integer limit) {
+        return cached("summary", filter, cursor, limit, () -> delegate.listMineSummaries(filter, cursor, limit));
+    }
+
+    @Override
+    public TodoListVersion listVersion() {
+        return cached("version", null, null, null, delegate::listVersion);
+    }
+
+    @Override
+    public TodoPageResponse<TodoSearchHit> search(String query, String cursor, Integer limit) {
+        return delegate.search(query, cursor, limit);
+    }
+
+    @Override
+    public void exportMine(Consumer<TodoResponse> sink) {
+        delegate.exportMine(sink);
+    }
+
+    @Override
+    public TodoChangesResponse changes(String since, Integer limit) {
+        return delegate.changes(since, limit);
+    }
+
+    @Override
+    public TodoResponse get(Long id) {
+        return delegate.get(id);
+    }
+
+    @Override
+    public TodoResponse create(CreateTodoRequest req) {
+        return invalidating(() -> delegate.create(req));
+    }
+
+    @Override
+    public TodoResponse update(Long id, UpdateTodoRequest req, Long expectedVersion) {
+        return invalidating(() -> delegate.update(id, req, expectedVersion));
+    }
+
+    @Override
+    public void delete(Long id) {
+        invalidating(() -> {
+            delegate.delete(id);
+            return null;
+        });
+    }
+
+    @Override
+    public BulkTodoResponse bulk(BulkTodoRequest req) {
+        return invalidating(() -> delegate.bulk(req));
+    }
+
+    @Override
+    public TodoImportResponse importMine(Iterator<TodoImportReader.Row> rows) {
+        return invalidating(() -> delegate.importMine(rows));
+    }
+
+    @Override
+    public int completeAll() {
+        return invalidating(delegate::completeAll);
+    }
+
+    @Override
+    public int deleteCompleted() {
+        return invalidating(delegate::deleteCompleted);
+    }
+}
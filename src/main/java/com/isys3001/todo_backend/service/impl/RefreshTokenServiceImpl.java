@@ -0,0 +1,97 @@
+package com.isys3001.todo_backend.service.impl;
+
+import com.isys3001.todo_backend.entity.RefreshToken;
+import com.isys3001.todo_backend.exception.InvalidRefreshTokenException;
+import com.isys3001.todo_backend.repositories.RefreshTokenRepository;
+import com.isys3001.todo_backend.service.RefreshTokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+@Service
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    private final RefreshTokenRepository repository;
+    private final Duration ttl;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenServiceImpl(RefreshTokenRepository repository,
+                                   @Value("${jwt.refresh-token-ttl:30d}") Duration ttl) {
+        this.repository = repository;
+        this.ttl = ttl;
+    }
+
+    @Override
+    @Transactional
+    public String issue(Long userId) {
+        return create(userId, UUID.randomUUID().toString());
+    }
+
+    @Override
+    // a detected reuse must still commit the family revocation
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public Rotation rotate(String refreshToken) {
+        RefreshToken current = repository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Unknown refresh token"));
+
+        Instant now = Instant.now();
+        if (current.getRevokedAt() != null) {
+            repository.revokeFamily(current.getFamilyId(), now);
+            throw new InvalidRefreshTokenException("Refresh token reuse detected");
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        }
+
+        current.setRevokedAt(now);
+        return new Rotation(current.getUserId(), create(current.getUserId(), current.getFamilyId()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeFamily(String refreshToken) {
+        repository.findByTokenHash(hash(refreshToken))
+                .ifPresent(t -> repository.revokeFamily(t.getFamilyId(), Instant.now()));
+    }
+
+    @Override
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        repository.revokeAllForUser(userId, Instant.now());
+    }
+
+    private String create(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        Instant now = Instant.now();
+        repository.save(RefreshToken.builder()
+                .userId(userId)
+                .tokenHash(hash(token))
+                .familyId(familyId)
+                .createdAt(now)
+                .expiresAt(now.plus(ttl))
+                .build());
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,91 +1,455 @@
 package com.isys3001.todo_backend.service.impl;
 
+import com.isys3001.todo_backend.changes.TodoChangeLog;
+import com.isys3001.todo_backend.dto.request.BulkTodoRequest;
+import com.isys3001.todo_backend.dto.request.BulkUpdateTodoRequest;
 import com.isys3001.todo_backend.dto.request.CreateTodoRequest;
+import com.isys3001.todo_backend.dto.request.TodoFilter;
 import com.isys3001.todo_backend.dto.request.UpdateTodoRequest;
+import com.isys3001.todo_backend.dto.response.BulkItemResult;
+import com.isys3001.todo_backend.dto.response.BulkTodoResponse;
+import com.isys3001.todo_backend.dto.response.TodoChange;
+import com.isys3001.todo_backend.dto.response.TodoChangesResponse;
+import com.isys3001.todo_backend.dto.response.TodoImportResponse;
+import com.isys3001.todo_backend.dto.response.TodoListVersion;
+import com.isys3001.todo_backend.dto.response.TodoPageResponse;
 import com.isys3001.todo_backend.dto.response.TodoResponse;
+import com.isys3001.todo_backend.dto.response.TodoSearchHit;
+import com.isys3001.todo_backend.dto.response.TodoSummaryResponse;
 import com.isys3001.todo_backend.entity.Todo;
 import com.isys3001.todo_backend.entity.User;
+import com.isys3001.todo_backend.exception.InvalidRequestException;
+import com.isys3001.todo_backend.exception.TodoNotFoundException;
+import com.isys3001.todo_backend.exception.TodoVersionMismatchException;
 import com.isys3001.todo_backend.repositories.TodoRepository;
 import com.isys3001.todo_backend.repositories.UserRepository;
+import com.isys3001.todo_backend.search.SearchTerms;
+import com.isys3001.todo_backend.search.TodoSearch;
+import com.isys3001.todo_backend.security.AuthenticatedUser;
 import com.isys3001.todo_backend.service.TodoService;
+import com.isys3001.todo_backend.utils.ChangeWatermark;
+import com.isys3001.todo_backend.utils.TodoCursor;
+import com.isys3001.todo_backend.utils.TodoImportReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class TodoServiceImpl implements TodoService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    static final int MAX_BULK_ITEMS = 500;
+    static final int MAX_IMPORT_ERRORS = 1000;
+
+    private static final int TITLE_MAX = 160;
+    private static final int DESCRIPTION_MAX = 10000;
+    private static final Comparator<TodoChange> CHANGE_ORDER =
+            Comparator.comparingLong(TodoChange::seq).thenComparing(TodoChange::id);
+
     private final TodoRepository todoRepo;
     private final UserRepository userRepo;
+    private final TodoSearch todoSearch;
+    private final TodoChangeLog changeLog;
+    // entity -> DTO mapping; list reads project straight into DTOs and skip this stage
+    private final Timer mappingTimer;
+    private final int importBatchSize;
+    private final int exportFetchSize;
 
-    public TodoServiceImpl(TodoRepository todoRepo, UserRepository userRepo) {
+    public TodoServiceImpl(TodoRepository todoRepo, UserRepository userRepo, TodoSearch todoSearch,
+                           TodoChangeLog changeLog, MeterRegistry registry,
+                           @Value("${todos.import.batch-size:500}") int importBatchSize,
+                           @Value("${todos.export.fetch-size:500}") int exportFetchSize) {
         this.todoRepo = todoRepo;
         this.userRepo = userRepo;
+        this.todoSearch = todoSearch;
+        this.changeLog = changeLog;
+        this.importBatchSize = importBatchSize;
+        this.exportFetchSize = exportFetchSize;
+        this.mappingTimer = Timer.builder("todos.mapping")
+                .description("Time to map a Todo entity to its response DTO")
+                .register(registry);
     }
 
-    private User currentUser() {
+    private Long currentOwnerId() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        // the JWT filter already resolved the id, so no user lookup is needed
+        if (auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal.id();
+        }
         String username = auth.getName(); // email/username used at login
         return userRepo.findByEmail(username) // change to findByUsername(...) if needed
+                .map(User::getId)
                 .orElseThrow(() -> new IllegalStateException("Authenticated user not found: " + username));
     }
 
-    private static TodoResponse map(Todo t) {
-        return new TodoResponse(
+    // package-private for TodoMappingBenchmark
+    TodoResponse map(Todo t) {
+        return mappingTimer.record(() -> new TodoResponse(
                 t.getId(), t.getTitle(), t.getDescription(),
-                t.isCompleted(), t.getCreatedAt(), t.getUpdatedAt()
-        );
+                t.isCompleted(), t.getCreatedAt(), t.getUpdatedAt(), t.getVersion()
+        ));
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    }
+
+    private static TodoFilter orNone(TodoFilter filter) {
+        return filter == null ? TodoFilter.none() : filter;
+    }
+
+    // rows holds one extra item so we know whether another page exists without a count query
+    private static <T> TodoPageResponse<T> page(List<T> rows, int pageSize, Function<T, TodoCursor> cursorOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String next = hasMore ? cursorOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new TodoPageResponse<>(page, next);
+    }
+
+    private static int searchOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) return 0;
+        try {
+            return Math.max(Integer.parseInt(cursor), 0);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    // same limits as the @Size constraints on the request records; returns null when valid
+    private static String validate(String title, String description, boolean titleRequired) {
+        if (titleRequired && (title == null || title.isBlank())) return "title is required";
+        if (title != null && title.length() > TITLE_MAX) return "title must be at most " + TITLE_MAX + " characters";
+        if (description != null && description.length() > DESCRIPTION_MAX) {
+            return "description must be at most " + DESCRIPTION_MAX + " characters";
+        }
+        return null;
+    }
+
+    private static void applyChanges(Todo t, String title, String description, Boolean completed) {
+        if (title != null && !title.isBlank()) t.setTitle(title);
+        if (description != null) t.setDescription(description);
+        if (completed != null) t.setCompleted(completed);
+    }
+
+    private static boolean hasChanges(UpdateTodoRequest req) {
+        return (req.title() != null && !req.title().isBlank())
+                || req.description() != null || req.completed() != null;
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? List.of() : list;
     }
 
     @Override
     public TodoResponse create(CreateTodoRequest req) {
-        User owner = currentUser();
+        Long ownerId = currentOwnerId();
+        long seq = changeLog.nextSeq(ownerId);
         Todo t = new Todo();
         t.setTitle(req.title());
         t.setDescription(req.description());
-        t.setOwner(owner);
-        return map(todoRepo.save(t));
+        t.setChangeSeq(seq);
+        t.setOwner(userRepo.getReferenceById(ownerId));
+        // ids are pre-allocated now, so flush to get the INSERT (and timestamps) before mapping
+        TodoResponse created = map(todoRepo.saveAndFlush(t));
+        changeLog.announce(ownerId, seq, List.of(TodoChange.upserted(created, seq)));
+        return created;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TodoResponse> listMine() {
-        User owner = currentUser();
-        return todoRepo.findByOwnerIdOrderByCreatedAtDesc(owner.getId())
-                .stream().map(TodoServiceImpl::map).toList();
+    public TodoPageResponse<TodoResponse> listMine(TodoFilter filter, String cursor, Integer limit) {
+        Long ownerId = currentOwnerId();
+        int pageSize = pageSize(limit);
+        List<TodoResponse> rows = todoRepo.findPage(ownerId, orNone(filter), TodoCursor.decode(cursor), pageSize + 1);
+        return page(rows, pageSize, TodoCursor::of);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public TodoResponse get(Long id) {
-        User owner = currentUser();
-        Todo t = todoRepo.findByIdAndOwnerId(id, owner.getId())
-                .orElseThrow(() -> new IllegalArgumentException("Todo not found"));
-        return map(t);
+    public TodoPageResponse<TodoSummaryResponse> listMineSummaries(TodoFilter filter, String cursor, Integer limit) {
+        Long ownerId = currentOwnerId();
+        int pageSize = pageSize(limit);
+        List<TodoSummaryResponse> rows = todoRepo.findSummaryPage(ownerId, orNone(filter), TodoCursor.decode(cursor), pageSize + 1);
+        return page(rows, pageSize, TodoCursor::of);
     }
 
     @Override
-    public TodoResponse update(Long id, UpdateTodoRequest req) {
-        User owner = currentUser();
-        Todo t = todoRepo.findByIdAndOwnerId(id, owner.getId())
-                .orElseThrow(() -> new IllegalArgumentException("Todo not found"));
+    @Transactional(readOnly = true)
+    public TodoListVersion listVersion() {
+        return todoRepo.findListVersion(currentOwnerId());
+    }
 
-        if (req.title() != null && !req.title().isBlank()) t.setTitle(req.title());
-        if (req.description() != null) t.setDescription(req.description());
-        if (req.completed() != null) t.setCompleted(req.completed());
+    @Override
+    @Transactional(readOnly = true)
+    public TodoPageResponse<TodoSearchHit> search(String query, String cursor, Integer limit) {
+        SearchTerms terms = SearchTerms.parse(query);
+        if (terms.isEmpty()) {
+            throw new InvalidRequestException("Search query must contain at least one word");
+        }
+        int pageSize = pageSize(limit);
+        int offset = searchOffset(cursor);
+        List<TodoSearchHit> rows = todoSearch.search(currentOwnerId(), terms, offset, pageSize + 1);
+        // relevance order has no stable keyset, so the cursor is the offset of the next page
+        boolean hasMore = rows.size() > pageSize;
+        return new TodoPageResponse<>(hasMore ? rows.subList(0, pageSize) : rows,
+                hasMore ? String.valueOf(offset + pageSize) : null);
+    }
 
-        return map(todoRepo.save(t));
+    @Override
+    @Transactional(readOnly = true)
+    public void exportMine(Consumer<TodoResponse> sink) {
+        // the cursor stays open while the caller writes, so the whole export is one read transaction
+        try (Stream<TodoResponse> todos = todoRepo.streamResponsesByOwnerId(currentOwnerId(), exportFetchSize)) {
+            todos.forEach(sink);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TodoChangesResponse changes(String since, Integer limit) {
+        Long ownerId = currentOwnerId();
+        ChangeWatermark after = ChangeWatermark.decode(since);
+        int pageSize = pageSize(limit);
+        // upserts and tombstones share the owner's sequence; read one page past the watermark from each and merge
+        List<TodoChange> merged = Stream.concat(
+                        todoRepo.findChangesAfter(ownerId, after.seq(), after.id(), Limit.of(pageSize + 1)).stream(),
+                        changeLog.deletionsAfter(ownerId, after, pageSize + 1).stream())
+                .sorted(CHANGE_ORDER)
+                .limit(pageSize + 1)
+                .toList();
+        boolean hasMore = merged.size() > pageSize;
+        List<TodoChange> page = hasMore ? merged.subList(0, pageSize) : merged;
+        ChangeWatermark next = page.isEmpty() ? after : ChangeWatermark.of(page.get(page.size() - 1));
+        return new TodoChangesResponse(page, next.encode(), hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TodoResponse get(Long id) {
+        Long ownerId = currentOwnerId();
+        return todoRepo.findResponseByIdAndOwnerId(id, ownerId)
+                .orElseThrow(TodoNotFoundException::new);
+    }
+
+    @Override
+    public TodoResponse update(Long id, UpdateTodoRequest req, Long expectedVersion) {
+        Long ownerId = currentOwnerId();
+        // one owner-scoped UPDATE of just the supplied columns; a zero row count means 404 or 412
+        boolean changing = hasChanges(req);
+        long seq = changing ? changeLog.nextSeq(ownerId) : 0;
+        boolean updated = changing
+                && todoRepo.updateOwned(id, ownerId, req, expectedVersion, Instant.now(), seq) > 0;
+
+        TodoResponse current = todoRepo.findResponseByIdAndOwnerId(id, ownerId)
+                .orElseThrow(TodoNotFoundException::new);
+        if (!updated && expectedVersion != null && current.version() != expectedVersion) {
+            throw new TodoVersionMismatchException();
+        }
+        if (updated) {
+            changeLog.announce(ownerId, seq, List.of(TodoChange.upserted(current, seq)));
+        }
+        return current;
     }
 
     @Override
     public void delete(Long id) {
-        User owner = currentUser();
-        Todo t = todoRepo.findByIdAndOwnerId(id, owner.getId())
-                .orElseThrow(() -> new IllegalArgumentException("Todo not found"));
-        todoRepo.delete(t);
+        Long ownerId = currentOwnerId();
+        long seq = changeLog.nextSeq(ownerId);
+        changeLog.deleting(ownerId, List.of(id), seq);
+        if (todoRepo.deleteByIdAndOwnerId(id, ownerId) == 0) {
+            throw new TodoNotFoundException();
+        }
+        changeLog.announce(ownerId, seq, List.of(TodoChange.deleted(id, seq)));
+    }
+
+    @Override
+    public BulkTodoResponse bulk(BulkTodoRequest req) {
+        Long ownerId = currentOwnerId();
+        List<CreateTodoRequest> creates = orEmpty(req.create());
+        List<BulkUpdateTodoRequest> updates = orEmpty(req.update());
+        List<Long> deletes = orEmpty(req.delete());
+        if (creates.size() + updates.size() + deletes.size() > MAX_BULK_ITEMS) {
+            throw new InvalidRequestException("Bulk request exceeds " + MAX_BULK_ITEMS + " items");
+        }
+        // every item of the request is one change and shares one sequence number
+        long seq = changeLog.nextSeq(ownerId);
+
+        // creates: ids come from the pooled generator, so the INSERTs are batched at flush
+        User owner = userRepo.getReferenceById(ownerId);
+        Todo[] inserted = new Todo[creates.size()];
+        String[] createErrors = new String[creates.size()];
+        for (int i = 0; i < creates.size(); i++) {
+            CreateTodoRequest c = creates.get(i);
+            createErrors[i] = validate(c.title(), c.description(), true);
+            if (createErrors[i] == null) {
+                Todo t = new Todo();
+                t.setTitle(c.title());
+                t.setDescription(c.description());
+                t.setChangeSeq(seq);
+                t.setOwner(owner);
+                inserted[i] = t;
+            }
+        }
+        todoRepo.saveAll(Arrays.stream(inserted).filter(Objects::nonNull).toList());
+
+        // updates: one SELECT for every id, then dirty checking emits batched UPDATEs
+        List<Long> updateIds = updates.stream().map(BulkUpdateTodoRequest::id).filter(Objects::nonNull).toList();
+        Map<Long, Todo> owned = updateIds.isEmpty() ? Map.of()
+                : todoRepo.findByOwnerIdAndIdIn(ownerId, updateIds).stream()
+                        .collect(Collectors.toMap(Todo::getId, Function.identity()));
+        Todo[] changed = new Todo[updates.size()];
+        int[] updateStatus = new int[updates.size()];
+        String[] updateErrors = new String[updates.size()];
+        for (int i = 0; i < updates.size(); i++) {
+            BulkUpdateTodoRequest u = updates.get(i);
+            if (u.id() == null) {
+                updateStatus[i] = 400;
+                updateErrors[i] = "id is required";
+                continue;
+            }
+            Todo t = owned.get(u.id());
+            if (t == null) {
+                updateStatus[i] = 404;
+                updateErrors[i] = "Todo not found";
+                continue;
+            }
+            updateErrors[i] = validate(u.title(), u.description(), false);
+            if (updateErrors[i] != null) {
+                updateStatus[i] = 400;
+                continue;
+            }
+            applyChanges(t, u.title(), u.description(), u.completed());
+            t.setChangeSeq(seq);
+            changed[i] = t;
+        }
+
+        // ids and timestamps are final once the batch is flushed
+        todoRepo.flush();
+
+        List<BulkItemResult> created = new ArrayList<>(creates.size());
+        for (int i = 0; i < creates.size(); i++) {
+            created.add(inserted[i] != null
+                    ? new BulkItemResult(i, inserted[i].getId(), 201, null, map(inserted[i]))
+                    : new BulkItemResult(i, null, 400, createErrors[i], null));
+        }
+        List<BulkItemResult> updated = new ArrayList<>(updates.size());
+        for (int i = 0; i < updates.size(); i++) {
+            Long id = updates.get(i).id();
+            updated.add(changed[i] != null
+                    ? new BulkItemResult(i, id, 200, null, map(changed[i]))
+                    : new BulkItemResult(i, id, updateStatus[i], updateErrors[i], null));
+        }
+        List<TodoChange> changes = Stream.concat(created.stream(), updated.stream())
+                .filter(r -> r.todo() != null)
+                .map(r -> TodoChange.upserted(r.todo(), seq))
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        // deletes: find which ids are ours, then remove them in a single DELETE
+        List<Long> deleteIds = deletes.stream().filter(Objects::nonNull).toList();
+        Set<Long> deletable = deleteIds.isEmpty() ? Set.of() : new HashSet<>(todoRepo.findOwnedIds(ownerId, deleteIds));
+        if (!deletable.isEmpty()) {
+            changeLog.deleting(ownerId, deletable, seq);
+            todoRepo.deleteOwned(ownerId, deletable);
+        }
+        List<BulkItemResult> deleted = new ArrayList<>(deletes.size());
+        for (int i = 0; i < deletes.size(); i++) {
+            Long id = deletes.get(i);
+            deleted.add(id == null ? new BulkItemResult(i, null, 400, "id is required", null)
+                    : deletable.contains(id) ? new BulkItemResult(i, id, 204, null, null)
+                    : new BulkItemResult(i, id, 404, "Todo not found", null));
+        }
+        deletable.forEach(id -> changes.add(TodoChange.deleted(id, seq)));
+        changeLog.announce(ownerId, seq, changes);
+
+        return new BulkTodoResponse(created, updated, deleted);
+    }
+
+    @Override
+    public TodoImportResponse importMine(Iterator<TodoImportReader.Row> rows) {
+        Long ownerId = currentOwnerId();
+        // claimed first like every write (lock order); rows come from a local spool, so the lock is brief
+        long seq = changeLog.nextSeq(ownerId);
+        List<Todo> batch = new ArrayList<>(importBatchSize);
+        List<TodoImportResponse.LineError> errors = new ArrayList<>();
+        long imported = 0;
+        long failed = 0;
+
+        while (rows.hasNext()) {
+            TodoImportReader.Row row = rows.next();
+            String error = row.error() != null
+                    ? row.error()
+                    : validate(row.record().title(), row.record().description(), true);
+            if (error != null) {
+                failed++;
+                if (errors.size() < MAX_IMPORT_ERRORS) {
+                    errors.add(new TodoImportResponse.LineError(row.line(), error));
+                }
+                continue;
+            }
+
+            Todo t = new Todo();
+            t.setTitle(row.record().title());
+            t.setDescription(row.record().description());
+            t.setCompleted(Boolean.TRUE.equals(row.record().completed()));
+            t.setChangeSeq(seq);
+            batch.add(t);
+            // only one batch of entities is ever held; insertAll clears the persistence context
+            if (batch.size() == importBatchSize) {
+                imported += todoRepo.insertAll(ownerId, batch, importBatchSize);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            imported += todoRepo.insertAll(ownerId, batch, importBatchSize);
+        }
+        if (imported > 0) {
+            changeLog.announceResync(ownerId, seq);
+        }
+        return new TodoImportResponse(imported, failed, errors, failed > errors.size());
+    }
+
+    @Override
+    public int completeAll() {
+        Long ownerId = currentOwnerId();
+        long seq = changeLog.nextSeq(ownerId);
+        int completed = todoRepo.completeAllByOwnerId(ownerId, Instant.now(), seq);
+        if (completed > 0) {
+            changeLog.announceResync(ownerId, seq);
+        }
+        return completed;
+    }
+
+    @Override
+    public int deleteCompleted() {
+        Long ownerId = currentOwnerId();
+        long seq = changeLog.nextSeq(ownerId);
+        changeLog.deletingCompleted(ownerId, seq);
+        int deleted = todoRepo.deleteCompletedByOwnerId(ownerId);
+        if (deleted > 0) {
+            changeLog.announceResync(ownerId, seq);
+        }
+        return deleted;
     }
-}
\ No newline at end of file
+}
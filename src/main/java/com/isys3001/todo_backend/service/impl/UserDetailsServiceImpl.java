@@ -1,28 +1,43 @@
 package com.isys3001.todo_backend.service.impl;
 
-import com.isys3001.todo_backend.entity.User;
 import com.isys3001.todo_backend.repositories.UserRepository;
+import com.isys3001.todo_backend.security.UserSnapshot;
+import com.isys3001.todo_backend.security.UserSnapshotCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
+    private final UserSnapshotCache userCache;
     private final UserRepository userRepository;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        UserSnapshot user = userCache.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("No user found with email: " + email));
 
         return org.springframework.security.core.userdetails.User
-                .withUsername(user.getEmail())
-                .password(user.getPassword())
-                .roles(String.valueOf(user.getRole()))
+                .withUsername(user.email())
+                .password(user.passwordHash())
+                .roles(String.valueOf(user.role()))
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        userCache.invalidate(user.getUsername());
+        return org.springframework.security.core.userdetails.User
+                .withUserDetails(user)
+                .password(newPassword)
                 .build();
     }
 }
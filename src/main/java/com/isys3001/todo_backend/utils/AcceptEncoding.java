@@ -0,0 +1,47 @@
+package com.isys3001.todo_backend.utils;
+
+/**
+ * Content negotiation on an {@code Accept-Encoding} header (RFC 9110, section 12.5.3). A coding is
+ * acceptable when it is listed, or covered by {@code *}, with a non-zero quality value; an explicit
+ * entry wins over {@code *}, so {@code gzip;q=0, *} still refuses gzip.
+ */
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {
+    }
+
+    public static boolean accepts(String header, String coding) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        Double explicit = null;
+        Double wildcard = null;
+        for (String entry : header.split(",")) {
+            String[] parts = entry.split(";");
+            String name = parts[0].trim();
+            double q = quality(parts);
+            if (name.equalsIgnoreCase(coding) || name.equalsIgnoreCase("x-" + coding)) {
+                explicit = explicit == null ? q : Math.max(explicit, q);
+            } else if (name.equals("*")) {
+                wildcard = q;
+            }
+        }
+        Double q = explicit != null ? explicit : wildcard;
+        return q != null && q > 0;
+    }
+
+    // a malformed weight counts as q=0, so the coding is not used on a guess
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
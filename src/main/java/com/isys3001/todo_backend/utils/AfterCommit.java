@@ -0,0 +1,30 @@
+package com.isys3001.todo_backend.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs cache evictions once the surrounding transaction has committed. Evicting only before the
+ * commit leaves a window in which a concurrent reader loads the old row and caches it again.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs {@code eviction} now and, inside a transaction, again after it commits. Outside a
+     * transaction the change is already visible, so the first run is enough.
+     */
+    public static void evict(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.isys3001.todo_backend.utils;
+
+import com.isys3001.todo_backend.dto.response.TodoChange;
+import com.isys3001.todo_backend.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the (seq, id) ordering of an owner's change feed. One write can touch many todos
+ * under the same seq, so the id breaks ties. Clients only ever see the opaque {@link #encode()} form.
+ */
+public record ChangeWatermark(long seq, long id) implements Comparable<ChangeWatermark> {
+
+    public static final ChangeWatermark START = new ChangeWatermark(0, 0);
+
+    public static ChangeWatermark of(TodoChange change) {
+        return new ChangeWatermark(change.seq(), change.id());
+    }
+
+    @Override
+    public int compareTo(ChangeWatermark other) {
+        int bySeq = Long.compare(seq, other.seq);
+        return bySeq != 0 ? bySeq : Long.compare(id, other.id);
+    }
+
+    public String encode() {
+        String raw = seq + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Returns {@link #START} for a missing watermark (full sync); throws InvalidRequestException if malformed. */
+    public static ChangeWatermark decode(String watermark) {
+        if (watermark == null || watermark.isBlank()) return START;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(watermark), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new ChangeWatermark(Long.parseLong(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid watermark");
+        }
+    }
+}
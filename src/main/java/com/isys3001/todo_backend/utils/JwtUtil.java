@@ -1,44 +1,93 @@
 package com.isys3001.todo_backend.utils;
 
 
+import com.isys3001.todo_backend.security.UserSnapshot;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 
 @Component
 public class JwtUtil {
     private static final String SECRET = "change-this-secret-to-a-very-long-secure-key";
-    private static final long EXPIRATION = 1000 * 60 * 60; // 1 hour
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(15);
 
-    private final Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
+    private final SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+    // JwtParser is immutable and thread-safe, so a single instance is shared by all requests
+    private final JwtParser parser = Jwts.parser().verifyWith(key).build();
+    // access tokens are short-lived; clients renew them with a refresh token
+    private final long expiration;
+
+    public JwtUtil() {
+        this(DEFAULT_TTL);
+    }
+
+    @Autowired
+    public JwtUtil(@Value("${jwt.access-token-ttl:15m}") Duration accessTokenTtl) {
+        this.expiration = accessTokenTtl.toMillis();
+    }
+
+    public Duration accessTokenTtl() {
+        return Duration.ofMillis(expiration);
+    }
 
     public String generateToken(String username) {
         return Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
+                .setExpiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return Jwts.parser()
-                .setSigningKey(key).build()
-                .parseClaimsJws(token)
-                .getBody().getSubject();
+    /**
+     * Issues a token that also carries the user id, role and token version, so the
+     * authentication filter can build the principal without loading the user. users.role is
+     * nullable; a user without one gets no role claim.
+     */
+    public String generateToken(UserSnapshot user) {
+        JwtBuilder builder = Jwts.builder()
+                .setSubject(user.email())
+                .claim(CLAIM_USER_ID, user.id());
+        if (user.role() != null) {
+            builder.claim(CLAIM_ROLE, user.role().name());
+        }
+        return builder
+                .claim(CLAIM_TOKEN_VERSION, user.tokenVersion())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + expiration))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
     }
 
-    public boolean isTokenValid(String token, String username) {
-        return username.equals(extractUsername(token)) &&
-                !isTokenExpired(token);
+    /**
+     * Verifies the signature and expiry of the token in a single parse and returns its claims.
+     * Throws a {@link io.jsonwebtoken.JwtException} if the token is malformed, tampered or expired.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    private boolean isTokenExpired(String token) {
-        return Jwts.parser().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().getExpiration().before(new Date());
+    public String extractUsername(String token) {
+        return parseClaims(token).getSubject();
+    }
+
+    public boolean isTokenValid(String token, String username) {
+        Claims claims = parseClaims(token);
+        return username.equals(claims.getSubject()) &&
+                !claims.getExpiration().before(new Date());
     }
 }
@@ -0,0 +1,41 @@
+package com.isys3001.todo_backend.utils;
+
+import com.isys3001.todo_backend.dto.response.TodoResponse;
+import com.isys3001.todo_backend.dto.response.TodoSummaryResponse;
+import com.isys3001.todo_backend.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (createdAt desc, id desc) ordering of a user's todos.
+ * Clients only ever see the opaque {@link #encode()} form.
+ */
+public record TodoCursor(Instant createdAt, Long id) {
+
+    public static TodoCursor of(TodoResponse t) {
+        return new TodoCursor(t.createdAt(), t.id());
+    }
+
+    public static TodoCursor of(TodoSummaryResponse t) {
+        return new TodoCursor(t.createdAt(), t.id());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Returns null for a missing cursor (first page); throws InvalidRequestException if malformed. */
+    public static TodoCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new TodoCursor(Instant.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.isys3001.todo_backend.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.isys3001.todo_backend.dto.request.TodoImportRecord;
+import com.isys3001.todo_backend.exception.InvalidImportException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads import records one at a time from NDJSON or CSV, so a file of any size is parsed with
+ * constant memory. Malformed records become rows with an error instead of failing the import.
+ * <p>
+ * CSV needs a header row naming the {@code title}, {@code description} and {@code completed}
+ * columns (any order, only {@code title} required) and follows RFC 4180 quoting, including
+ * line breaks inside quoted fields.
+ * <p>
+ * A record longer than {@link #MAX_RECORD_LENGTH} characters is skipped without being buffered
+ * and reported as an error, so one runaway line (or an unterminated CSV quote) cannot exhaust memory.
+ */
+public abstract class TodoImportReader implements Iterator<TodoImportReader.Row> {
+
+    /** A parsed record, or an error, tagged with the line it started on. */
+    public record Row(long line, TodoImportRecord record, String error) {}
+
+    /** The title (160) and description (10000) limits plus room for syntax, quoting and escapes. */
+    public static final int MAX_RECORD_LENGTH = 16 * 1024;
+
+    static final String TOO_LONG = "record is longer than " + MAX_RECORD_LENGTH + " characters";
+
+    private final Reader in;
+    private final char[] buf = new char[64 * 1024];
+    private int pos;
+    private int limit;
+    protected long lineNo;
+    private Row next;
+
+    protected TodoImportReader(Reader in) {
+        this.in = in;
+    }
+
+    public static TodoImportReader ndjson(Reader in, ObjectMapper mapper) {
+        return new Ndjson(in, mapper);
+    }
+
+    public static TodoImportReader csv(Reader in) {
+        return new Csv(in);
+    }
+
+    /** Returns the next row, or null at end of input. */
+    protected abstract Row read() throws IOException;
+
+    /** Next character, or -1 at end of input. */
+    protected int readChar() throws IOException {
+        int c = peekChar();
+        if (c != -1) {
+            pos++;
+        }
+        return c;
+    }
+
+    protected int peekChar() throws IOException {
+        if (pos == limit) {
+            int n = in.read(buf, 0, buf.length);
+            if (n <= 0) {
+                return -1;
+            }
+            pos = 0;
+            limit = n;
+        }
+        return buf[pos];
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = read();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Row row = next;
+        next = null;
+        return row;
+    }
+
+    private static final class Ndjson extends TodoImportReader {
+
+        private final ObjectMapper mapper;
+
+        Ndjson(Reader in, ObjectMapper mapper) {
+            super(in);
+            this.mapper = mapper;
+        }
+
+        @Override
+        protected Row read() throws IOException {
+            StringBuilder line = new StringBuilder();
+            while (peekChar() != -1) {
+                lineNo++;
+                line.setLength(0);
+                boolean tooLong = false;
+                for (int c = readChar(); c != -1 && c != '\n'; c = readChar()) {
+                    if (line.length() < MAX_RECORD_LENGTH) {
+                        line.append((char) c);
+                    } else {
+                        tooLong = true;
+                    }
+                }
+                if (tooLong) {
+                    return new Row(lineNo, null, TOO_LONG);
+                }
+                String json = line.toString().strip();
+                if (json.isEmpty()) {
+                    continue;
+                }
+                // "null", numbers, strings and arrays are valid JSON but not a record
+                if (json.charAt(0) != '{') {
+                    return new Row(lineNo, null, "not a JSON object");
+                }
+                try {
+                    return new Row(lineNo, mapper.readValue(json, TodoImportRecord.class), null);
+                } catch (JsonProcessingException e) {
+                    return new Row(lineNo, null, "malformed JSON");
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class Csv extends TodoImportReader {
+
+        private Map<String, Integer> columns;
+        // why the last record() could not be used, or null
+        private String error;
+
+        Csv(Reader in) {
+            super(in);
+        }
+
+        @Override
+        protected Row read() throws IOException {
+            if (columns == null) {
+                List<String> header = record();
+                if (header == null) {
+                    return null;
+                }
+                if (error != null) {
+                    throw new InvalidImportException("CSV header: " + error);
+                }
+                columns = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    // Excel prefixes UTF-8 exports with a byte order mark
+                    String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+                    columns.put(name, i);
+                }
+                if (!columns.containsKey("title")) {
+                    throw new InvalidImportException("CSV header must contain a 'title' column");
+                }
+            }
+
+            List<String> fields;
+            long start;
+            do {
+                start = lineNo + 1;
+                fields = record();
+                if (fields == null) {
+                    return null;
+                }
+            } while (error == null && fields.size() == 1 && fields.get(0).isEmpty());
+
+            if (error != null) {
+                return new Row(start, null, error);
+            }
+            String completed = field(fields, "completed");
+            if (completed != null && !completed.isBlank()
+                    && !completed.equalsIgnoreCase("true") && !completed.equalsIgnoreCase("false")) {
+                return new Row(start, null, "completed must be true or false");
+            }
+            return new Row(start, new TodoImportRecord(
+                    field(fields, "title"),
+                    field(fields, "description"),
+                    completed == null || completed.isBlank() ? null : Boolean.parseBoolean(completed)), null);
+        }
+
+        private String field(List<String> fields, String name) {
+            Integer i = columns.get(name);
+            return i == null || i >= fields.size() ? null : fields.get(i);
+        }
+
+        // one CSV record, which may span several physical lines when a quoted field contains newlines.
+        // Past MAX_RECORD_LENGTH the characters are still scanned, to find where the record ends, but dropped.
+        private List<String> record() throws IOException {
+            int c = readChar();
+            if (c == -1) {
+                return null;
+            }
+            lineNo++;
+            error = null;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int length = 0;
+            for (; ; c = readChar()) {
+                if (c == -1) {
+                    if (quoted) {
+                        // everything after the opening quote was swallowed by it, so nothing is imported
+                        error = "unterminated quoted field";
+                    }
+                    break;
+                }
+                if (c == '\r' && peekChar() == '\n') {
+                    continue;
+                }
+                if (c == '\n') {
+                    if (!quoted) {
+                        break;
+                    }
+                    lineNo++;
+                }
+                if (++length > MAX_RECORD_LENGTH) {
+                    if (error == null) {
+                        error = TOO_LONG;
+                    }
+                    if (c == '"') {
+                        // a doubled quote inside a quoted field toggles twice, which leaves the state as it was
+                        quoted = !quoted;
+                    }
+                    continue;
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        if (peekChar() == '"') {
+                            field.append('"');
+                            readChar();
+                            length++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append((char) c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
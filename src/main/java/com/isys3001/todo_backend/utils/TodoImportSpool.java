@@ -0,0 +1,139 @@
+package com.isys3001.todo_backend.utils;
+
+import com.isys3001.todo_backend.dto.request.TodoImportRecord;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Buffers parsed import rows in a temporary file, so the upload is read completely before the
+ * import transaction starts. The transaction then only spends local I/O and database time, and the
+ * owner's row lock (change sequence, foreign key checks) is never held while a slow client uploads.
+ * Memory stays constant; the file is deleted on {@link #close()}.
+ */
+public final class TodoImportSpool implements Closeable {
+
+    private static final int BUFFER = 64 * 1024;
+
+    private final Path file;
+    private DataInputStream in;
+
+    private TodoImportSpool(Path file) {
+        this.file = file;
+    }
+
+    /** Drains {@code rows} into a new spool file. */
+    public static TodoImportSpool of(Iterator<TodoImportReader.Row> rows) throws IOException {
+        TodoImportSpool spool = new TodoImportSpool(Files.createTempFile("todo-import-", ".spool"));
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(spool.file), BUFFER))) {
+            while (rows.hasNext()) {
+                write(out, rows.next());
+            }
+        } catch (IOException | RuntimeException e) {
+            spool.close();
+            throw e;
+        }
+        return spool;
+    }
+
+    /** Replays the spooled rows in their original order; can only be consumed once. */
+    public Iterator<TodoImportReader.Row> rows() throws IOException {
+        if (in != null) {
+            throw new IllegalStateException("Spool already read");
+        }
+        in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER));
+        return new Iterator<>() {
+            private TodoImportReader.Row next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = read(in);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public TodoImportReader.Row next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                TodoImportReader.Row row = next;
+                next = null;
+                return row;
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (in != null) {
+                in.close();
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void write(DataOutputStream out, TodoImportReader.Row row) throws IOException {
+        out.writeLong(row.line());
+        writeString(out, row.error());
+        if (row.error() == null) {
+            TodoImportRecord r = row.record();
+            writeString(out, r.title());
+            writeString(out, r.description());
+            out.writeByte(r.completed() == null ? -1 : r.completed() ? 1 : 0);
+        }
+    }
+
+    private static TodoImportReader.Row read(DataInputStream in) throws IOException {
+        long line;
+        try {
+            line = in.readLong();
+        } catch (EOFException e) {
+            return null;
+        }
+        String error = readString(in);
+        if (error != null) {
+            return new TodoImportReader.Row(line, null, error);
+        }
+        String title = readString(in);
+        String description = readString(in);
+        byte completed = in.readByte();
+        return new TodoImportReader.Row(line,
+                new TodoImportRecord(title, description, completed < 0 ? null : completed == 1), null);
+    }
+
+    // length-prefixed UTF-8; writeUTF would cap a field at 64 KB
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        return length < 0 ? null : new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,2 @@
+-- Per-user token version behind logout-everywhere; bumping it revokes every token issued so far
+ALTER TABLE users ADD COLUMN token_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,20 @@
+CREATE TABLE users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    role     TINYINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE todos (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    title       VARCHAR(160)                NOT NULL,
+    description CHARACTER LARGE OBJECT,
+    completed   BOOLEAN                     NOT NULL,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    owner_id    BIGINT                      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_todos_owner FOREIGN KEY (owner_id) REFERENCES users (id)
+);
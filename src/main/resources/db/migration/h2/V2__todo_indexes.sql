@@ -0,0 +1,5 @@
+-- Serves the owner-scoped keyset listing: WHERE owner_id = ? ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_todos_owner_created ON todos (owner_id, created_at DESC, id DESC);
+
+-- Serves the same listing filtered by completed
+CREATE INDEX idx_todos_owner_completed_created ON todos (owner_id, completed, created_at);
@@ -0,0 +1,11 @@
+-- Todo ids come from a pooled table generator (allocation size 50) instead of IDENTITY,
+-- so Hibernate can assign ids up front and batch the INSERTs.
+CREATE TABLE id_generators (
+    gen_name VARCHAR(64) NOT NULL,
+    next_val BIGINT      NOT NULL,
+    PRIMARY KEY (gen_name)
+);
+
+-- Start the first pool above every existing id
+INSERT INTO id_generators (gen_name, next_val)
+SELECT 'todos', COALESCE(MAX(id), 0) + 51 FROM todos;
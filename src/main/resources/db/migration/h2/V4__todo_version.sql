@@ -0,0 +1,2 @@
+-- Optimistic locking column behind ETag / If-Match on todos
+ALTER TABLE todos ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
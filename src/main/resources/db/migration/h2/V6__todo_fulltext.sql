@@ -0,0 +1,3 @@
+-- H2 has no FULLTEXT index type; LikeTodoSearch needs no schema change.
+-- Kept so the H2 and MySQL migration histories stay at the same version.
+SELECT 1;
@@ -0,0 +1,19 @@
+-- Per-owner change sequence behind GET /api/todos/changes.
+-- users.change_seq is the last number handed out; every write stamps the rows it touches with a new one.
+ALTER TABLE users ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE todos ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+-- Serves the feed: WHERE owner_id = ? AND (change_seq, id) > (?, ?) ORDER BY change_seq, id
+CREATE INDEX idx_todos_owner_change ON todos (owner_id, change_seq, id);
+
+-- Deleted todos leave a tombstone so clients can drop their local copy
+CREATE TABLE todo_tombstones (
+    todo_id    BIGINT                      NOT NULL,
+    owner_id   BIGINT                      NOT NULL,
+    change_seq BIGINT                      NOT NULL,
+    deleted_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (todo_id),
+    CONSTRAINT fk_todo_tombstones_owner FOREIGN KEY (owner_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_todo_tombstones_owner_change ON todo_tombstones (owner_id, change_seq, todo_id);
@@ -0,0 +1,22 @@
+-- Schema as previously created by hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version, so this only runs on empty schemas.
+CREATE TABLE users (
+    id       BIGINT       NOT NULL AUTO_INCREMENT,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    role     TINYINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE todos (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    title       VARCHAR(160) NOT NULL,
+    description TEXT,
+    completed   BIT          NOT NULL,
+    created_at  DATETIME(6)  NOT NULL,
+    updated_at  DATETIME(6)  NOT NULL,
+    owner_id    BIGINT       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_todos_owner FOREIGN KEY (owner_id) REFERENCES users (id)
+) ENGINE = InnoDB;
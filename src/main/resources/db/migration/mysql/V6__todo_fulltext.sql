@@ -0,0 +1,2 @@
+-- Owner-scoped full-text search over title and description (see MySqlFullTextTodoSearch)
+CREATE FULLTEXT INDEX ft_todos_title_description ON todos (title, description);
@@ -0,0 +1,22 @@
+-- Transactional outbox: one row per todo change, written in the same transaction as the change
+-- and removed once every in-process sink has handled it.
+CREATE TABLE todo_outbox (
+    id              BIGINT       NOT NULL,
+    owner_id        BIGINT       NOT NULL,
+    change_seq      BIGINT       NOT NULL,
+    event_type      VARCHAR(16)  NOT NULL,
+    todo_id         BIGINT,
+    payload         TEXT,
+    created_at      DATETIME(6)  NOT NULL,
+    attempts        INT          NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6)  NOT NULL,
+    last_error      VARCHAR(500),
+    dead_at         DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Serves the dispatcher claim: WHERE dead_at IS NULL AND next_attempt_at <= ? ORDER BY id ... SKIP LOCKED
+CREATE INDEX idx_todo_outbox_due ON todo_outbox (dead_at, next_attempt_at, id);
+
+-- Pooled ids like todos (V3), so a bulk write's outbox rows are inserted in one JDBC batch
+INSERT INTO id_generators (gen_name, next_val) VALUES ('todo_outbox', 51);
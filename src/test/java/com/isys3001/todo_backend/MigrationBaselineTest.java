@@ -0,0 +1,50 @@
+package com.isys3001.todo_backend;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+/** A database created by the old ddl-auto=update build must be brought up to date by baselining at V1. */
+class MigrationBaselineTest {
+
+    @Test
+    void baselinedLegacySchema_ShouldReceiveEveryLaterMigration() {
+        DataSource ds = new DriverManagerDataSource("jdbc:h2:mem:legacy;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        // the released schema, as Hibernate created it before Flyway
+        jdbc.execute("""
+                CREATE TABLE users (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    email VARCHAR(255) NOT NULL UNIQUE,
+                    password VARCHAR(255),
+                    role TINYINT)""");
+        jdbc.execute("""
+                CREATE TABLE todos (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    title VARCHAR(160) NOT NULL,
+                    description CHARACTER LARGE OBJECT,
+                    completed BOOLEAN NOT NULL,
+                    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                    owner_id BIGINT NOT NULL REFERENCES users (id))""");
+        jdbc.update("INSERT INTO users (email, password, role) VALUES ('legacy@example.com', 'x', 0)");
+
+        Flyway.configure()
+                .dataSource(ds)
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertThat(jdbc.queryForObject("SELECT token_version FROM users WHERE email = 'legacy@example.com'", Long.class))
+                .isZero();
+        assertThat(jdbc.queryForObject("SELECT change_seq FROM users WHERE email = 'legacy@example.com'", Long.class))
+                .isZero();
+    }
+}
@@ -0,0 +1,69 @@
+package com.isys3001.todo_backend.cache;
+
+import com.isys3001.todo_backend.dto.request.TodoFilter;
+import com.isys3001.todo_backend.dto.response.TodoPageResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InMemoryTodoListCacheTest {
+
+    private InMemoryTodoListCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new InMemoryTodoListCache(1_000, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void get_ShouldLoadOnce_PerOwnerGeneration() {
+        read(1L);
+        read(1L);
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateOwner_ShouldOnlyAffectThatOwner() {
+        read(1L);
+        read(2L);
+
+        cache.invalidateOwner(1L);
+        read(1L);
+        read(2L);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void readStartedBeforeInvalidation_ShouldNotBeServedAfterIt() {
+        long before = cache.generation(1L);
+        cache.invalidateOwner(1L);
+        // a reader that took the old generation stores its (stale) result under it
+        cache.get(key(1L, before), this::load);
+
+        read(1L);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private void read(Long ownerId) {
+        cache.get(key(ownerId, cache.generation(ownerId)), this::load);
+    }
+
+    private TodoPageResponse<Object> load() {
+        loads.incrementAndGet();
+        return new TodoPageResponse<>(List.of(), null);
+    }
+
+    private static TodoListCacheKey key(Long ownerId, long generation) {
+        return new TodoListCacheKey(ownerId, generation, "full", TodoFilter.none(), null, null);
+    }
+}
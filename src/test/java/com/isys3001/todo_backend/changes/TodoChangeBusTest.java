@@ -0,0 +1,99 @@
+package com.isys3001.todo_backend.changes;
+
+import com.isys3001.todo_backend.dto.response.TodoChange;
+import com.isys3001.todo_backend.utils.ChangeWatermark;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TodoChangeBusTest {
+
+    private final TodoChangeBus bus = new TodoChangeBus(4, Duration.ofHours(1));
+
+    @AfterEach
+    void tearDown() {
+        bus.shutdown();
+    }
+
+    @Test
+    void onChanged_ShouldDeliverToTheOwnersConnectionsOnly_InOrder() throws Exception {
+        var mine = new CapturingEmitter();
+        var theirs = new CapturingEmitter();
+        bus.subscribe(1L, mine).start(List.of(), null);
+        bus.subscribe(2L, theirs).start(List.of(), null);
+
+        bus.onChanged(new TodoChangedEvent(1L, 7L, List.of(TodoChange.deleted(10L, 7L), TodoChange.deleted(11L, 7L))));
+
+        assertThat(mine.next()).contains("event:delete", "id:" + new ChangeWatermark(7, 10).encode());
+        assertThat(mine.next()).contains("id:" + new ChangeWatermark(7, 11).encode());
+        assertThat(theirs.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void start_ShouldSendReplayFirst_AndSkipLiveEventsItCovered() throws Exception {
+        var emitter = new CapturingEmitter();
+        var subscription = bus.subscribe(1L, emitter);
+        // committed while the replay was being read: already part of it
+        bus.onChanged(new TodoChangedEvent(1L, 5L, List.of(TodoChange.deleted(3L, 5L))));
+        bus.onChanged(new TodoChangedEvent(1L, 6L, List.of(TodoChange.deleted(4L, 6L))));
+
+        subscription.start(List.of(TodoStreamEvent.of(TodoChange.deleted(3L, 5L))), new ChangeWatermark(5, 3));
+
+        assertThat(emitter.next()).contains("id:" + new ChangeWatermark(5, 3).encode());
+        assertThat(emitter.next()).contains("id:" + new ChangeWatermark(6, 4).encode());
+        assertThat(emitter.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void onChanged_ShouldEvictSlowConsumer_WhenBufferOverflows() {
+        var emitter = new CapturingEmitter();
+        bus.subscribe(1L, emitter); // never started, so nothing drains the buffer
+
+        for (long i = 1; i <= 5; i++) {
+            bus.onChanged(new TodoChangedEvent(1L, i, List.of(TodoChange.deleted(i, i))));
+        }
+
+        assertThat(emitter.completed).isTrue();
+        assertThat(bus.connectionCount()).isZero();
+    }
+
+    @Test
+    void onChanged_ShouldSendSyncEvent_ForResync() throws Exception {
+        var emitter = new CapturingEmitter();
+        bus.subscribe(1L, emitter).start(List.of(), null);
+
+        bus.onChanged(new TodoChangedEvent(1L, 9L, List.of()));
+
+        assertThat(emitter.next()).contains("event:sync").doesNotContain("id:");
+    }
+
+    private static final class CapturingEmitter extends SseEmitter {
+        final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.add(builder.build().stream().map(d -> String.valueOf(d.getData())).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        String next() throws InterruptedException {
+            String event = sent.poll(1, TimeUnit.SECONDS);
+            assertThat(event).as("event sent").isNotNull();
+            return event;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.isys3001.todo_backend.changes;
+
+import com.isys3001.todo_backend.dto.response.TodoChange;
+import com.isys3001.todo_backend.dto.response.TodoResponse;
+import com.isys3001.todo_backend.utils.ChangeWatermark;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class TodoChangeLogTest {
+
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private TodoChangeLog changeLog;
+    @Autowired private EntityManager em;
+
+    private long ownerId;
+    private long otherId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = user("changes@example.com");
+        otherId = user("other-changes@example.com");
+    }
+
+    @Test
+    void nextSeq_ShouldCountUpPerOwner() {
+        assertThat(changeLog.nextSeq(ownerId)).isEqualTo(1);
+        assertThat(changeLog.nextSeq(ownerId)).isEqualTo(2);
+        assertThat(changeLog.nextSeq(otherId)).isEqualTo(1);
+    }
+
+    @Test
+    void deleting_ShouldOnlyTombstoneOwnedTodos() {
+        long mine = todo(ownerId, "Mine", false);
+        long theirs = todo(otherId, "Theirs", false);
+
+        changeLog.deleting(ownerId, List.of(mine, theirs), 5);
+
+        assertThat(changeLog.deletionsAfter(ownerId, ChangeWatermark.START, 10))
+                .containsExactly(TodoChange.deleted(mine, 5));
+        assertThat(changeLog.deletionsAfter(otherId, ChangeWatermark.START, 10)).isEmpty();
+    }
+
+    @Test
+    void deletingCompleted_ShouldTombstoneCompletedTodos_AndPageAfterWatermark() {
+        long first = todo(ownerId, "Done", true);
+        long second = todo(ownerId, "Also done", true);
+        todo(ownerId, "Open", false);
+
+        changeLog.deletingCompleted(ownerId, 3);
+
+        assertThat(changeLog.deletionsAfter(ownerId, ChangeWatermark.START, 10))
+                .extracting(TodoChange::id).containsExactly(first, second);
+        assertThat(changeLog.deletionsAfter(ownerId, new ChangeWatermark(3, first), 10))
+                .extracting(TodoChange::id).containsExactly(second);
+    }
+
+    @Test
+    void announce_ShouldWriteOneOutboxRowPerChange() {
+        var todo = new TodoResponse(7L, "Mine", null, false, Instant.EPOCH, Instant.EPOCH, 0L);
+
+        changeLog.announce(ownerId, 4, List.of(TodoChange.upserted(todo, 4), TodoChange.deleted(8L, 4)));
+        changeLog.announceResync(ownerId, 5);
+        em.flush();
+
+        assertThat(jdbc.queryForList("SELECT event_type FROM todo_outbox WHERE owner_id = ? ORDER BY change_seq, todo_id",
+                String.class, ownerId)).containsExactly("upsert", "delete", "sync");
+        assertThat(jdbc.queryForObject("SELECT payload FROM todo_outbox WHERE todo_id = 7", String.class))
+                .contains("\"title\":\"Mine\"");
+    }
+
+    private long user(String email) {
+        jdbc.update("INSERT INTO users (email, password, role, token_version) VALUES (?, 'x', 0, 0)", email);
+        return jdbc.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    private long todo(long owner, String title, boolean completed) {
+        jdbc.update("INSERT INTO todos (title, completed, created_at, updated_at, owner_id) "
+                + "VALUES (?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?)", title, completed, owner);
+        return jdbc.queryForObject("SELECT id FROM todos WHERE owner_id = ? AND title = ?", Long.class, owner, title);
+    }
+}
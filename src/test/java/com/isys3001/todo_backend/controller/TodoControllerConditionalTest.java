@@ -0,0 +1,124 @@
+package com.isys3001.todo_backend.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Conditional GETs through the real filter chain: a validator must change with every write,
+ * deletes included, or a client keeps showing data that no longer exists.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TodoControllerConditionalTest {
+
+    @Autowired private TestRestTemplate rest;
+
+    private HttpHeaders auth;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, String> creds = Map.of("email", UUID.randomUUID() + "@example.com", "password", "Password123!");
+        rest.postForEntity("/api/v1/auth/register", creds, String.class);
+        Map<?, ?> tokens = rest.postForObject("/api/v1/auth/login", creds, Map.class);
+        auth = new HttpHeaders();
+        auth.setBearerAuth((String) tokens.get("token"));
+    }
+
+    private ResponseEntity<String> get(String url, String header, String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(auth);
+        if (header != null) {
+            headers.set(header, value);
+        }
+        return rest.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private long create(String title) {
+        Map<?, ?> todo = rest.exchange("/api/todos", HttpMethod.POST,
+                new HttpEntity<>(Map.of("title", title), auth), Map.class).getBody();
+        return ((Number) todo.get("id")).longValue();
+    }
+
+    private String listEtag() {
+        ResponseEntity<String> res = get("/api/todos", null, null);
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        return res.getHeaders().getETag();
+    }
+
+    // ---------- GET /api/todos ----------
+
+    @Test
+    void list_ShouldReturnNotModified_WhenEtagMatches() {
+        create("Buy milk");
+        String etag = listEtag();
+
+        assertThat(etag).isNotNull();
+        assertThat(get("/api/todos", HttpHeaders.IF_NONE_MATCH, etag).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(get("/api/todos?view=summary", HttpHeaders.IF_NONE_MATCH, etag).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    @Test
+    void listEtag_ShouldChange_AfterCreateUpdateAndDelete() {
+        long id = create("Buy milk");
+        String afterCreate = listEtag();
+
+        rest.exchange("/api/todos/" + id, HttpMethod.PUT, new HttpEntity<>(Map.of("completed", true), auth), String.class);
+        String afterUpdate = listEtag();
+
+        rest.exchange("/api/todos/" + id, HttpMethod.DELETE, new HttpEntity<>(auth), Void.class);
+        String afterDelete = listEtag();
+
+        assertThat(afterUpdate).isNotEqualTo(afterCreate);
+        assertThat(afterDelete).isNotEqualTo(afterUpdate).isNotEqualTo(afterCreate);
+    }
+
+    @Test
+    void list_ShouldNotBeConditionalOnTime_SoDeletesAreSeen() {
+        create("Keep");
+        long doomed = create("Delete me");
+        ResponseEntity<String> first = get("/api/todos", null, null);
+        assertThat(first.getHeaders().getLastModified()).isEqualTo(-1);
+
+        rest.exchange("/api/todos/" + doomed, HttpMethod.DELETE, new HttpEntity<>(auth), Void.class);
+        // deleting does not move max(updatedAt), so a date validator would wrongly answer 304 here
+        ResponseEntity<String> res = get("/api/todos", HttpHeaders.IF_MODIFIED_SINCE, "Fri, 01 Jan 2100 00:00:00 GMT");
+
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(res.getBody()).contains("Keep").doesNotContain("Delete me");
+    }
+
+    // ---------- GET /api/todos/{id} ----------
+
+    @Test
+    void get_ShouldReturnNotModified_WhenEtagMatches_UntilTheTodoChanges() {
+        long id = create("Buy milk");
+        ResponseEntity<String> first = get("/api/todos/" + id, null, null);
+        String etag = first.getHeaders().getETag();
+
+        assertThat(etag).isNotNull();
+        assertThat(get("/api/todos/" + id, HttpHeaders.IF_NONE_MATCH, etag).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        rest.exchange("/api/todos/" + id, HttpMethod.PUT, new HttpEntity<>(Map.of("title", "Buy oat milk"), auth),
+                String.class);
+        ResponseEntity<String> changed = get("/api/todos/" + id, HttpHeaders.IF_NONE_MATCH, etag);
+
+        assertThat(changed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(changed.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(changed.getBody()).contains("Buy oat milk");
+    }
+}
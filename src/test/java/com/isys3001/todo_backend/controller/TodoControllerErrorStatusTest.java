@@ -0,0 +1,72 @@
+package com.isys3001.todo_backend.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Client mistakes must reach the client as 4xx through the real servlet error dispatch,
+ * which Spring Security also guards.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class TodoControllerErrorStatusTest {
+
+    @Autowired private TestRestTemplate rest;
+
+    private HttpHeaders auth;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, String> creds = Map.of("email", UUID.randomUUID() + "@example.com", "password", "Password123!");
+        rest.postForEntity("/api/v1/auth/register", creds, String.class);
+        Map<?, ?> tokens = rest.postForObject("/api/v1/auth/login", creds, Map.class);
+        auth = new HttpHeaders();
+        auth.setBearerAuth((String) tokens.get("token"));
+    }
+
+    private HttpStatusCode get(String url) {
+        return rest.exchange(url, HttpMethod.GET, new HttpEntity<>(auth), String.class).getStatusCode();
+    }
+
+    @Test
+    void malformedCursor_ShouldBeBadRequest() {
+        assertThat(get("/api/todos?cursor=not-a-cursor")).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(get("/api/todos?view=summary&cursor=not-a-cursor")).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void badSearch_ShouldBeBadRequest() {
+        assertThat(get("/api/todos/search?q=milk&cursor=x")).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void malformedWatermark_ShouldBeBadRequest() {
+        assertThat(get("/api/todos/changes?since=%25%25%25")).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void oversizedBulk_ShouldBeBadRequest() {
+        var body = Map.of("delete", LongStream.rangeClosed(1, 501).boxed().toList());
+        var status = rest.exchange("/api/todos/bulk", HttpMethod.POST, new HttpEntity<>(body, auth), String.class)
+                .getStatusCode();
+        assertThat(status).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void missingTodo_ShouldBeNotFound() {
+        assertThat(get("/api/todos/999999999")).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,44 @@
+package com.isys3001.todo_backend.controller;
+
+import com.isys3001.todo_backend.changes.TodoChangeBus;
+import com.isys3001.todo_backend.enums.Role;
+import com.isys3001.todo_backend.security.AuthenticatedUser;
+import com.isys3001.todo_backend.service.TodoService;
+import com.isys3001.todo_backend.utils.ChangeWatermark;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TodoStreamControllerTest {
+
+    private final TodoService service = mock(TodoService.class);
+    private final TodoChangeBus bus = new TodoChangeBus(4, Duration.ofHours(1));
+    private final TodoStreamController controller = new TodoStreamController(service, bus, Duration.ofMinutes(1));
+    private final AuthenticatedUser user = new AuthenticatedUser(1L, "alice@example.com", Role.USER);
+
+    @AfterEach
+    void tearDown() {
+        bus.shutdown();
+    }
+
+    @Test
+    void stream_ShouldUnsubscribe_WhenTheReplayFails() {
+        String lastEventId = new ChangeWatermark(3, 4).encode();
+        when(service.changes(lastEventId, Integer.MAX_VALUE)).thenThrow(new QueryTimeoutException("replay"));
+
+        assertThatThrownBy(() -> controller.stream(user, lastEventId)).isInstanceOf(QueryTimeoutException.class);
+        assertThat(bus.connectionCount()).isZero();
+    }
+
+    @Test
+    void stream_ShouldStaySubscribed_WhenStarted() {
+        controller.stream(user, null);
+
+        assertThat(bus.connectionCount()).isEqualTo(1);
+    }
+}
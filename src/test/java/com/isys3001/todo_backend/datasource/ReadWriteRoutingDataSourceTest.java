@@ -0,0 +1,180 @@
+package com.isys3001.todo_backend.datasource;
+
+import com.isys3001.todo_backend.enums.Role;
+import com.isys3001.todo_backend.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/** Two in-memory H2 databases stand in for the primary and the replica; each knows its own name. */
+class ReadWriteRoutingDataSourceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaHealth health;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate reads;
+    private TransactionTemplate writes;
+
+    @BeforeEach
+    void setUp() {
+        primary = node("primary");
+        replica = node("replica");
+        wire(replica, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // ---------- routing ----------
+
+    @Test
+    void readOnlyTransactions_ShouldUseReplica_AndOthersPrimary() {
+        assertThat(inReadOnlyTx()).isEqualTo("replica");
+        assertThat(inReadWriteTx()).isEqualTo("primary");
+        assertThat(servedBy()).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyCallJoiningWriteTransaction_ShouldStayOnPrimary() {
+        String served = writes.execute(status -> inReadOnlyTx());
+
+        assertThat(served).isEqualTo("primary");
+    }
+
+    // ---------- read-your-writes ----------
+
+    @Test
+    void userWhoJustWrote_ShouldReadFromPrimary_OthersFromReplica() {
+        signIn(1L);
+        writes.executeWithoutResult(status -> write());
+
+        assertThat(inReadOnlyTx()).isEqualTo("primary");
+
+        signIn(2L);
+        assertThat(inReadOnlyTx()).isEqualTo("replica");
+    }
+
+    @Test
+    void stickiness_ShouldExpire() {
+        wire(replica, Duration.ZERO);
+        signIn(1L);
+        writes.executeWithoutResult(status -> write());
+
+        assertThat(inReadOnlyTx()).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWrite_ShouldNotStick() {
+        signIn(1L);
+        writes.executeWithoutResult(status -> {
+            write();
+            status.setRollbackOnly();
+        });
+
+        assertThat(inReadOnlyTx()).isEqualTo("replica");
+    }
+
+    @Test
+    void requestThatWrote_ShouldReadFromPrimary_EvenAnonymously() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        writes.executeWithoutResult(status -> write());
+
+        assertThat(inReadOnlyTx()).isEqualTo("primary");
+    }
+
+    @Test
+    void pinRequestToPrimary_ShouldOnlyAffectThatRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        ReadYourWrites.pinRequestToPrimary();
+        assertThat(inReadOnlyTx()).isEqualTo("primary");
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(inReadOnlyTx()).isEqualTo("replica");
+    }
+
+    // ---------- health ----------
+
+    @Test
+    void unreachableReplica_ShouldFallBackToPrimary_AndBeMarkedDown() {
+        wire(new DriverManagerDataSource("jdbc:h2:mem:missing-replica;IFEXISTS=TRUE", "sa", ""), Duration.ofMinutes(1));
+
+        assertThat(inReadOnlyTx()).isEqualTo("primary");
+        assertThat(health.isUp()).isFalse();
+        assertThat(registry.get("db.routing.connections").tag("reason", "replica-down").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void probe_ShouldPutRecoveredReplicaBackInRotation() {
+        health.markDown(new IllegalStateException("test"));
+        assertThat(inReadOnlyTx()).isEqualTo("primary");
+
+        health.probe();
+
+        assertThat(health.isUp()).isTrue();
+        assertThat(inReadOnlyTx()).isEqualTo("replica");
+    }
+
+    private void wire(DataSource replicaNode, Duration stickiness) {
+        health = new ReplicaHealth(replicaNode, Duration.ofMinutes(1), Duration.ofSeconds(1));
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+                primary, replicaNode, new ReadYourWrites(stickiness, 100), health, registry));
+        DataSourceTransactionManager txManager = new DataSourceTransactionManager(routing);
+        jdbc = new JdbcTemplate(routing);
+        writes = new TransactionTemplate(txManager);
+        reads = new TransactionTemplate(txManager);
+        reads.setReadOnly(true);
+    }
+
+    private String inReadOnlyTx() {
+        return reads.execute(status -> servedBy());
+    }
+
+    private String inReadWriteTx() {
+        return writes.execute(status -> servedBy());
+    }
+
+    private String servedBy() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private void write() {
+        jdbc.update("UPDATE node SET writes = writes + 1");
+    }
+
+    private static void signIn(long userId) {
+        var user = new AuthenticatedUser(userId, "user" + userId + "@example.com", Role.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.authorities()));
+    }
+
+    private static DataSource node(String name) {
+        DataSource ds = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(ds);
+        jdbc.execute("DROP TABLE IF EXISTS node");
+        jdbc.execute("CREATE TABLE node (name VARCHAR(16), writes INT)");
+        jdbc.update("INSERT INTO node VALUES (?, 0)", name);
+        return ds;
+    }
+}
@@ -0,0 +1,68 @@
+package com.isys3001.todo_backend.filters;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class DbAdmissionFilterTest {
+
+    private final DbAdmissionFilter filter = new DbAdmissionFilter(3, 2, Duration.ofMillis(50));
+
+    private static MockHttpServletRequest todos() {
+        return new MockHttpServletRequest("GET", "/api/todos");
+    }
+
+    // ---------- DbAdmissionFilter() ----------
+
+    @Test
+    void constructor_ShouldKeepTheReservedConnectionsOutOfTheLimit() {
+        assertThat(new DbAdmissionFilter(10, 2, Duration.ofSeconds(1)).availablePermits()).isEqualTo(8);
+        assertThat(new DbAdmissionFilter(2, 2, Duration.ofSeconds(1)).availablePermits()).isEqualTo(1);
+    }
+
+    // ---------- doFilter() ----------
+
+    @Test
+    void doFilter_ShouldRejectWith503AndRetryAfter_WhenNoPermitFreesUpInTime() throws Exception {
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        MockFilterChain rejectedChain = new MockFilterChain();
+        // the outer request holds the only permit while the inner one waits for it
+        FilterChain holdingChain = (req, res) -> filter.doFilter(todos(), rejected, rejectedChain);
+
+        filter.doFilter(todos(), new MockHttpServletResponse(), holdingChain);
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(rejectedChain.getRequest()).isNull();
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_ShouldReleaseThePermit_WhenTheRequestFails() {
+        FilterChain failing = (req, res) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(todos(), new MockHttpServletResponse(), failing))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_ShouldNotLimit_OtherEndpoints() throws Exception {
+        MockHttpServletResponse inner = new MockHttpServletResponse();
+        FilterChain holdingChain = (req, res) ->
+                filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/auth/login"), inner, new MockFilterChain());
+
+        filter.doFilter(todos(), new MockHttpServletResponse(), holdingChain);
+
+        assertThat(inner.getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,23 @@
+package com.isys3001.todo_backend.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StatementCounterTest {
+
+    private final StatementCounter inspector = new StatementCounter();
+
+    @Test
+    void inspect_ShouldCountOnlyBetweenBeginAndEnd() {
+        inspector.inspect("select 1");
+
+        StatementCounter.begin();
+        assertThat(inspector.inspect("select 2")).isEqualTo("select 2");
+        inspector.inspect("select 3");
+        assertThat(StatementCounter.end()).isEqualTo(2);
+
+        inspector.inspect("select 4");
+        assertThat(StatementCounter.end()).isZero();
+    }
+}
@@ -0,0 +1,105 @@
+package com.isys3001.todo_backend.outbox;
+
+import com.isys3001.todo_backend.entity.OutboxEvent;
+import com.isys3001.todo_backend.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboxDispatcherTest {
+
+    private final OutboxEventRepository outboxRepo = mock(OutboxEventRepository.class);
+    private final List<OutboxMessage> received = new ArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private boolean failing;
+
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        OutboxSink sink = messages -> {
+            if (failing) throw new IllegalStateException("index down");
+            received.addAll(messages);
+        };
+        dispatcher = new OutboxDispatcher(outboxRepo, List.of(sink), mock(PlatformTransactionManager.class), registry,
+                2, 3, Duration.ofMillis(200), Duration.ofSeconds(1), Duration.ofSeconds(3));
+    }
+
+    @Test
+    void dispatchBatch_ShouldHandBatchToSinks_ThenDeleteIt() {
+        var batch = List.of(event(1L, 0), event(2L, 0));
+        when(outboxRepo.claimDue(any(), eq(Limit.of(2)))).thenReturn(batch);
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(2);
+
+        assertThat(received).extracting(OutboxMessage::id).containsExactly(1L, 2L);
+        verify(outboxRepo).deleteByIds(List.of(1L, 2L));
+        assertThat(registry.get("todos.outbox.dispatched").counter().count()).isEqualTo(2);
+        assertThat(registry.get("todos.outbox.lag").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void dispatchBatch_ShouldBackOff_WhenASinkFails() {
+        failing = true;
+        var e = event(1L, 1);
+        when(outboxRepo.claimDue(any(), any())).thenReturn(List.of(e));
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxRepo, never()).deleteByIds(any());
+        assertThat(e.getAttempts()).isEqualTo(2);
+        assertThat(e.getNextAttemptAt()).isAfter(Instant.now().plusMillis(1500));
+        assertThat(e.getLastError()).contains("index down");
+        assertThat(e.getDeadAt()).isNull();
+    }
+
+    @Test
+    void dispatchBatch_ShouldParkEvent_AfterMaxAttempts() {
+        failing = true;
+        var e = event(1L, 2);
+        when(outboxRepo.claimDue(any(), any())).thenReturn(List.of(e));
+
+        dispatcher.dispatchBatch();
+
+        assertThat(e.getDeadAt()).isNotNull();
+        assertThat(registry.get("todos.outbox.dead").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void backoff_ShouldDoublePerAttempt_UpToTheCap() {
+        assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(dispatcher.backoff(2)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(dispatcher.backoff(3)).isEqualTo(Duration.ofSeconds(3));
+        assertThat(dispatcher.backoff(40)).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void drain_ShouldKeepClaiming_WhileBatchesAreFull() {
+        when(outboxRepo.claimDue(any(), any()))
+                .thenReturn(List.of(event(1L, 0), event(2L, 0)))
+                .thenReturn(List.of(event(3L, 0)));
+
+        dispatcher.drain();
+
+        assertThat(received).extracting(OutboxMessage::id).containsExactly(1L, 2L, 3L);
+        verify(outboxRepo, times(2)).claimDue(any(), any());
+    }
+
+    private static OutboxEvent event(Long id, int attempts) {
+        Instant now = Instant.now();
+        return OutboxEvent.builder()
+                .id(id).ownerId(101L).changeSeq(1L).eventType("upsert").todoId(id)
+                .createdAt(now).nextAttemptAt(now).attempts(attempts)
+                .build();
+    }
+}
@@ -0,0 +1,42 @@
+package com.isys3001.todo_backend.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Behind a proxy every connection comes from the proxy's address; the auth buckets must still be
+ * per client, taken from X-Forwarded-For. The test client connects over loopback, a trusted proxy.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"ratelimit.auth.requests-per-second=0.01", "ratelimit.auth.burst=2"})
+class ForwardedClientRateLimitTest {
+
+    @Autowired private TestRestTemplate rest;
+
+    private HttpStatusCode login(String forwardedFor) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", forwardedFor);
+        var creds = Map.of("email", "nobody@example.com", "password", "wrong");
+        return rest.postForEntity("/api/v1/auth/login", new HttpEntity<>(creds, headers), String.class)
+                .getStatusCode();
+    }
+
+    @Test
+    void authLimit_ShouldKeyOnTheForwardedClient_NotTheProxy() {
+        login("203.0.113.7");
+        login("203.0.113.7");
+
+        assertThat(login("203.0.113.7")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(login("203.0.113.8")).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
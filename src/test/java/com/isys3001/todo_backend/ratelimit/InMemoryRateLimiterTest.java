@@ -0,0 +1,46 @@
+package com.isys3001.todo_backend.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class InMemoryRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private final InMemoryRateLimiter limiter = new InMemoryRateLimiter(1000, Duration.ofMinutes(10), now::get);
+
+    @Test
+    void tryAcquire_ShouldAllowBurst_ThenRejectWithRetryAfter() {
+        var limit = new RateLimit(10, 3); // one token every 100ms
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("u:1", limit).allowed()).isTrue();
+        }
+        var rejected = limiter.tryAcquire("u:1", limit);
+
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterNanos()).isEqualTo(100_000_000L);
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        var limit = new RateLimit(10, 1);
+        assertThat(limiter.tryAcquire("u:1", limit).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("u:1", limit).allowed()).isFalse();
+
+        now.addAndGet(100_000_000L);
+
+        assertThat(limiter.tryAcquire("u:1", limit).allowed()).isTrue();
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepKeysIndependent() {
+        var limit = new RateLimit(1, 1);
+        assertThat(limiter.tryAcquire("u:1", limit).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("u:2", limit).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("u:1", limit).allowed()).isFalse();
+    }
+}
@@ -0,0 +1,220 @@
+package com.isys3001.todo_backend.repositories;
+
+import com.isys3001.todo_backend.dto.request.UpdateTodoRequest;
+import com.isys3001.todo_backend.dto.response.TodoResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs against the l2cache profile with real commits (no test-managed transaction), because the
+ * second-level cache is only shared between sessions once a transaction has completed.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "l2cache"})
+class SecondLevelCacheTest {
+
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private TransactionTemplate tx;
+    @Autowired private EntityManagerFactory emf;
+    @Autowired private TodoRepository todoRepo;
+    @Autowired private UserRepository userRepo;
+
+    private static final int ROUNDS = 200;
+    private static final int READERS = 4;
+
+    private Statistics stats;
+    private long ownerId;
+    private long todoId;
+
+    @BeforeEach
+    void setUp() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        ownerId = user("cached@example.com");
+        todoId = todo(ownerId, "Cached");
+        emf.getCache().evictAll();
+        stats.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.update("DELETE FROM todos WHERE owner_id = ?", ownerId);
+        jdbc.update("DELETE FROM users WHERE id = ?", ownerId);
+        emf.getCache().evictAll();
+    }
+
+    // ---------- findResponseByIdAndOwnerId() ----------
+
+    @Test
+    void findResponseByIdAndOwnerId_ShouldServeRepeatsFromQueryCache() {
+        Optional<TodoResponse> first = inTx(() -> todoRepo.findResponseByIdAndOwnerId(todoId, ownerId));
+        long afterFirst = stats.getPrepareStatementCount();
+
+        Optional<TodoResponse> second = inTx(() -> todoRepo.findResponseByIdAndOwnerId(todoId, ownerId));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(afterFirst);
+        assertThat(stats.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findResponseByIdAndOwnerId_ShouldNotLeakAcrossOwners() {
+        inTx(() -> todoRepo.findResponseByIdAndOwnerId(todoId, ownerId));
+
+        assertThat(inTx(() -> todoRepo.findResponseByIdAndOwnerId(todoId, ownerId + 1))).isEmpty();
+    }
+
+    @Test
+    void updateOwned_ShouldInvalidateCachedLookups() {
+        inTx(() -> todoRepo.findResponseByIdAndOwnerId(todoId, ownerId));
+
+        inTx(() -> todoRepo.updateOwned(todoId, ownerId, new UpdateTodoRequest("Renamed", null, true),
+                null, Instant.now(), 1));
+
+        TodoResponse after = inTx(() -> todoRepo.findResponseByIdAndOwnerId(todoId, ownerId)).orElseThrow();
+        assertThat(after.title()).isEqualTo("Renamed");
+        assertThat(after.completed()).isTrue();
+    }
+
+    // ---------- users ----------
+
+    @Test
+    void findById_ShouldHitEntityCache_AndSurviveChangeSeqBumps() {
+        inTx(() -> userRepo.findById(ownerId));
+        inTx(() -> userRepo.incrementChangeSeq(ownerId));
+        long before = stats.getPrepareStatementCount();
+
+        assertThat(inTx(() -> userRepo.findById(ownerId))).isPresent();
+
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(before);
+        assertThat(inTx(() -> userRepo.findChangeSeqById(ownerId))).contains(1L);
+    }
+
+    @Test
+    void incrementTokenVersion_ShouldNotBeMaskedByCachedUser() {
+        inTx(() -> userRepo.findByEmail("cached@example.com"));
+
+        inTx(() -> userRepo.incrementTokenVersion(ownerId));
+
+        assertThat(inTx(() -> userRepo.findByEmail("cached@example.com")).orElseThrow().getTokenVersion())
+                .isEqualTo(1);
+    }
+
+    // ---------- concurrent reads ----------
+
+    @Test
+    void readersRacingUpdateOwned_ShouldNeverSeeAVersionOlderThanTheLastCommit() throws Exception {
+        AtomicLong committed = new AtomicLong();
+        List<String> stale = raceReaders(
+                () -> {
+                    long seen = committed.get();
+                    String title = inTx(() -> todoRepo.findResponseByIdAndOwnerId(todoId, ownerId)).orElseThrow().title();
+                    long read = title.startsWith("v") ? Long.parseLong(title.substring(1)) : 0;
+                    return read < seen ? "read " + title + " after v" + seen + " committed" : null;
+                },
+                () -> {
+                    for (int i = 1; i <= ROUNDS; i++) {
+                        int round = i;
+                        inTx(() -> todoRepo.updateOwned(todoId, ownerId, new UpdateTodoRequest("v" + round, null, null),
+                                null, Instant.now(), round));
+                        committed.set(round);
+                    }
+                });
+
+        assertThat(stale).isEmpty();
+        assertThat(stats.getQueryCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void readersRacingIncrementTokenVersion_ShouldNeverSeeARevokedVersion() throws Exception {
+        AtomicLong committed = new AtomicLong();
+        List<String> stale = raceReaders(
+                () -> {
+                    long seen = committed.get();
+                    long read = inTx(() -> userRepo.findByEmail("cached@example.com")).orElseThrow().getTokenVersion();
+                    return read < seen ? "read version " + read + " after " + seen + " committed" : null;
+                },
+                () -> {
+                    for (int i = 1; i <= ROUNDS; i++) {
+                        inTx(() -> userRepo.incrementTokenVersion(ownerId));
+                        committed.set(i);
+                    }
+                });
+
+        assertThat(stale).isEmpty();
+    }
+
+    /**
+     * Runs the writer on one thread while READERS threads keep reading until it is done. Each read
+     * notes the last committed round before it starts and reports a problem if it saw anything older.
+     */
+    private List<String> raceReaders(Supplier<String> read, Runnable writer) throws Exception {
+        List<String> stale = new CopyOnWriteArrayList<>();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(READERS + 1);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < READERS; r++) {
+                readers.add(pool.submit(() -> {
+                    while (writing.get()) {
+                        String problem = read.get();
+                        if (problem != null) {
+                            stale.add(problem);
+                        }
+                    }
+                }));
+            }
+            pool.submit(() -> {
+                try {
+                    writer.run();
+                } finally {
+                    writing.set(false);
+                }
+            }).get(30, TimeUnit.SECONDS);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return stale;
+    }
+
+    private <T> T inTx(Supplier<T> work) {
+        return tx.execute(status -> work.get());
+    }
+
+    private long user(String email) {
+        jdbc.update("INSERT INTO users (email, password, role, token_version) VALUES (?, 'x', 0, 0)", email);
+        return jdbc.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    private long todo(long owner, String title) {
+        jdbc.update("INSERT INTO todos (title, completed, created_at, updated_at, owner_id) "
+                + "VALUES (?, false, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?)", title, owner);
+        return jdbc.queryForObject("SELECT id FROM todos WHERE owner_id = ? AND title = ?", Long.class, owner, title);
+    }
+}
@@ -0,0 +1,52 @@
+package com.isys3001.todo_backend.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks that the Flyway-managed indexes are the ones the database picks for the hot todo queries.
+ */
+@SpringBootTest
+@Transactional
+class TodoIndexPlanTest {
+
+    @Autowired private JdbcTemplate jdbc;
+
+    private long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        jdbc.update("INSERT INTO users (email, password, role, token_version) VALUES ('plan@example.com', 'x', 0, 0)");
+        ownerId = jdbc.queryForObject("SELECT id FROM users WHERE email = 'plan@example.com'", Long.class);
+        for (int i = 0; i < 200; i++) {
+            jdbc.update("INSERT INTO todos (title, completed, created_at, updated_at, owner_id) "
+                    + "VALUES (?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?)", "t" + i, i % 2 == 0, ownerId);
+        }
+    }
+
+    @Test
+    void ownerListing_ShouldUseOwnerCreatedIndex() {
+        String plan = explain("SELECT id FROM todos WHERE owner_id = " + ownerId
+                + " ORDER BY created_at DESC, id DESC LIMIT 51");
+
+        assertThat(plan).containsIgnoringCase("IDX_TODOS_OWNER_CREATED");
+    }
+
+    @Test
+    void completedFilter_ShouldUseOwnerCompletedIndex() {
+        String plan = explain("SELECT id FROM todos WHERE owner_id = " + ownerId
+                + " AND completed = FALSE ORDER BY created_at DESC, id DESC LIMIT 51");
+
+        assertThat(plan).containsIgnoringCase("IDX_TODOS_OWNER_COMPLETED_CREATED");
+    }
+
+    private String explain(String sql) {
+        return jdbc.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
@@ -0,0 +1,57 @@
+package com.isys3001.todo_backend.search;
+
+import com.isys3001.todo_backend.dto.response.TodoSearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class LikeTodoSearchTest {
+
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private TodoSearch search;
+
+    private long ownerId;
+    private long otherId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = user("search@example.com");
+        otherId = user("other@example.com");
+        todo(ownerId, "Write report", "for the CI/CD section");
+        todo(ownerId, "Groceries", "milk, bread, report card for school");
+        todo(ownerId, "Call mum", null);
+        todo(otherId, "Report taxes", null);
+    }
+
+    @Test
+    void search_ShouldMatchPrefixes_RankTitleHitsFirst_AndStayOwnerScoped() {
+        var hits = search.search(ownerId, SearchTerms.parse("rep"), 0, 10);
+
+        assertThat(hits).extracting(TodoSearchHit::title).containsExactly("Write report", "Groceries");
+    }
+
+    @Test
+    void search_ShouldRequireEveryTerm_AndPage() {
+        assertThat(search.search(ownerId, SearchTerms.parse("report ci"), 0, 10))
+                .extracting(TodoSearchHit::title).containsExactly("Write report");
+        assertThat(search.search(ownerId, SearchTerms.parse("report"), 1, 10))
+                .extracting(TodoSearchHit::title).containsExactly("Groceries");
+    }
+
+    private long user(String email) {
+        jdbc.update("INSERT INTO users (email, password, role, token_version) VALUES (?, 'x', 0, 0)", email);
+        return jdbc.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, email);
+    }
+
+    private void todo(long owner, String title, String description) {
+        jdbc.update("INSERT INTO todos (title, description, completed, created_at, updated_at, owner_id) "
+                + "VALUES (?, ?, FALSE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, ?)", title, description, owner);
+    }
+}
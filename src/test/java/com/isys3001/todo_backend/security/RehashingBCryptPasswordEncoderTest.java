@@ -0,0 +1,25 @@
+package com.isys3001.todo_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RehashingBCryptPasswordEncoderTest {
+
+    @Test
+    void upgradeEncoding_ShouldBeTrueOnlyWhenCostDiffers() {
+        var encoder = new RehashingBCryptPasswordEncoder(5);
+
+        assertThat(encoder.upgradeEncoding(new RehashingBCryptPasswordEncoder(5).encode("pw"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new RehashingBCryptPasswordEncoder(4).encode("pw"))).isTrue();
+        assertThat(encoder.upgradeEncoding(new RehashingBCryptPasswordEncoder(6).encode("pw"))).isTrue();
+    }
+
+    @Test
+    void calibrate_ShouldStayWithinBounds() {
+        assertThat(BCryptCalibrator.calibrate(Duration.ZERO)).isEqualTo(BCryptCalibrator.MIN_STRENGTH);
+        assertThat(BCryptCalibrator.calibrate(Duration.ofDays(1))).isEqualTo(BCryptCalibrator.MAX_STRENGTH);
+    }
+}
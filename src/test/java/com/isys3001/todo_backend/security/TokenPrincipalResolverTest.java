@@ -0,0 +1,90 @@
+package com.isys3001.todo_backend.security;
+
+import com.isys3001.todo_backend.enums.Role;
+import com.isys3001.todo_backend.repositories.UserRepository;
+import com.isys3001.todo_backend.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TokenPrincipalResolverTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil();
+    private UserRepository userRepository;
+    private TokenPrincipalResolver resolver;
+    private Claims claims;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        resolver = new TokenPrincipalResolver(userRepository, mock(UserSnapshotCache.class),
+                "claims", Duration.ofMinutes(1), 100);
+        claims = jwtUtil.parseClaims(jwtUtil.generateToken(
+                new UserSnapshot(1L, "alice@example.com", "hash", Role.USER, 0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void resolve_ShouldCacheTheTokenVersion() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0L));
+
+        assertThat(resolver.resolve(claims)).isPresent();
+        assertThat(resolver.resolve(claims)).isPresent();
+
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void evictTokenVersion_ShouldEvictAgainAfterCommit_SoAReloadBeforeCommitIsNotKept() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0L));
+        resolver.resolve(claims);
+
+        TransactionSynchronizationManager.initSynchronization();
+        resolver.evictTokenVersion(1L);
+        // a concurrent request re-reads the version before the revocation commits
+        assertThat(resolver.resolve(claims)).isPresent();
+
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(1L));
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+
+        assertThat(resolver.resolve(claims)).isEmpty();
+    }
+
+    @Test
+    void resolve_ShouldDefaultToUser_WhenTheUserHasNoRole() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0L));
+        Claims noRole = jwtUtil.parseClaims(jwtUtil.generateToken(
+                new UserSnapshot(1L, "alice@example.com", "hash", null, 0)));
+
+        assertThat(noRole).doesNotContainKey(JwtUtil.CLAIM_ROLE);
+        assertThat(resolver.resolve(noRole)).get().extracting(AuthenticatedUser::role).isEqualTo(Role.USER);
+    }
+
+    @Test
+    void resolve_ShouldNotAuthenticate_WhenTheRoleIsUnknown() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(0L));
+        Claims unknownRole = Jwts.claims()
+                .subject("alice@example.com")
+                .add(Map.of(JwtUtil.CLAIM_USER_ID, 1L, JwtUtil.CLAIM_ROLE, "null", JwtUtil.CLAIM_TOKEN_VERSION, 0L))
+                .build();
+
+        assertThat(resolver.resolve(unknownRole)).isEmpty();
+    }
+}
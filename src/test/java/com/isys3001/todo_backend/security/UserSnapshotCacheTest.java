@@ -0,0 +1,91 @@
+package com.isys3001.todo_backend.security;
+
+import com.isys3001.todo_backend.entity.User;
+import com.isys3001.todo_backend.enums.Role;
+import com.isys3001.todo_backend.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserSnapshotCacheTest {
+
+    private static final String EMAIL = "alice@example.com";
+
+    private UserRepository userRepository;
+    private UserSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        cache = new UserSnapshotCache(userRepository, 100, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Optional<User> user(String password) {
+        return Optional.of(User.builder().id(1L).email(EMAIL).password(password).role(Role.USER).build());
+    }
+
+    // ---------- findByEmail() ----------
+
+    @Test
+    void findByEmail_ShouldCacheHits() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(user("old"));
+
+        assertThat(cache.findByEmail(EMAIL)).map(UserSnapshot::passwordHash).contains("old");
+        assertThat(cache.findByEmail(EMAIL)).map(UserSnapshot::passwordHash).contains("old");
+
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void findByEmail_ShouldNotCacheMisses() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+        assertThat(cache.findByEmail(EMAIL)).isEmpty();
+
+        when(userRepository.findByEmail(EMAIL)).thenReturn(user("new"));
+        assertThat(cache.findByEmail(EMAIL)).isPresent();
+    }
+
+    // ---------- invalidate() ----------
+
+    @Test
+    void invalidate_ShouldReloadOnNextRead() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(user("old"));
+        cache.findByEmail(EMAIL);
+
+        when(userRepository.findByEmail(EMAIL)).thenReturn(user("new"));
+        cache.invalidate(EMAIL);
+
+        assertThat(cache.findByEmail(EMAIL)).map(UserSnapshot::passwordHash).contains("new");
+    }
+
+    @Test
+    void invalidate_InsideTransaction_ShouldEvictAgainAfterCommit() {
+        when(userRepository.findByEmail(EMAIL)).thenReturn(user("old"));
+        cache.findByEmail(EMAIL);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidate(EMAIL);
+        // a concurrent login re-reads the row before the password change commits
+        assertThat(cache.findByEmail(EMAIL)).map(UserSnapshot::passwordHash).contains("old");
+
+        when(userRepository.findByEmail(EMAIL)).thenReturn(user("new"));
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+
+        assertThat(cache.findByEmail(EMAIL)).map(UserSnapshot::passwordHash).contains("new");
+    }
+}
@@ -0,0 +1,71 @@
+package com.isys3001.todo_backend.service.impl;
+
+import com.isys3001.todo_backend.cache.TodoListCache;
+import com.isys3001.todo_backend.datasource.ReadYourWrites;
+import com.isys3001.todo_backend.dto.response.TodoPageResponse;
+import com.isys3001.todo_backend.dto.response.TodoResponse;
+import com.isys3001.todo_backend.enums.Role;
+import com.isys3001.todo_backend.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingTodoServiceTest {
+
+    private final TodoServiceImpl delegate = mock(TodoServiceImpl.class);
+    private final TodoListCache cache = mock(TodoListCache.class);
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofMinutes(1), 100);
+    private final TodoPageResponse<TodoResponse> page = new TodoPageResponse<>(List.of(), null);
+    private CachingTodoService service;
+
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        var user = new AuthenticatedUser(101L, "alice@example.com", Role.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.authorities()));
+        service = new CachingTodoService(delegate, cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // ---------- listMine() ----------
+
+    @Test
+    void listMine_ShouldLoadACacheMissFromThePrimary() {
+        when(cache.get(any(), any())).thenAnswer(inv -> ((Supplier<?>) inv.getArgument(1)).get());
+        boolean[] primaryDuringLoad = new boolean[1];
+        when(delegate.listMine(null, null, null)).thenAnswer(inv -> {
+            primaryDuringLoad[0] = readYourWrites.mustReadPrimary();
+            return page;
+        });
+
+        assertThat(service.listMine(null, null, null)).isSameAs(page);
+        assertThat(primaryDuringLoad[0]).isTrue();
+    }
+
+    @Test
+    void listMine_ShouldLeaveTheRequestUnpinned_OnACacheHit() {
+        when(cache.get(any(), any())).thenReturn(page);
+
+        assertThat(service.listMine(null, null, null)).isSameAs(page);
+        assertThat(readYourWrites.mustReadPrimary()).isFalse();
+        verifyNoInteractions(delegate);
+    }
+}
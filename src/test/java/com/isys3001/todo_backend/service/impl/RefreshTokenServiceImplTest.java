@@ -0,0 +1,79 @@
+package com.isys3001.todo_backend.service.impl;
+
+import com.isys3001.todo_backend.entity.RefreshToken;
+import com.isys3001.todo_backend.exception.InvalidRefreshTokenException;
+import com.isys3001.todo_backend.repositories.RefreshTokenRepository;
+import com.isys3001.todo_backend.service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceImplTest {
+
+    @Mock
+    private RefreshTokenRepository repository;
+
+    private RefreshTokenServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenServiceImpl(repository, Duration.ofDays(30));
+    }
+
+    @Test
+    void rotate_ShouldRevokeCurrent_AndIssueNextInSameFamily() {
+        String raw = service.issue(1L);
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(captor.capture());
+        RefreshToken current = captor.getValue();
+        when(repository.findByTokenHash(current.getTokenHash())).thenReturn(Optional.of(current));
+
+        RefreshTokenService.Rotation rotation = service.rotate(raw);
+
+        assertThat(rotation.userId()).isEqualTo(1L);
+        assertThat(rotation.refreshToken()).isNotEqualTo(raw);
+        assertThat(current.getRevokedAt()).isNotNull();
+        verify(repository, times(2)).save(captor.capture());
+        assertThat(captor.getValue().getFamilyId()).isEqualTo(current.getFamilyId());
+    }
+
+    @Test
+    void rotate_ShouldRevokeFamily_WhenTokenIsReused() {
+        String raw = service.issue(1L);
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(captor.capture());
+        RefreshToken current = captor.getValue();
+        current.setRevokedAt(Instant.now());
+        when(repository.findByTokenHash(current.getTokenHash())).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.rotate(raw)).isInstanceOf(InvalidRefreshTokenException.class);
+        verify(repository).revokeFamily(eq(current.getFamilyId()), any(Instant.class));
+    }
+
+    @Test
+    void rotate_ShouldReject_ExpiredOrUnknownTokens() {
+        String raw = service.issue(1L);
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(repository).save(captor.capture());
+        RefreshToken current = captor.getValue();
+        current.setExpiresAt(Instant.now().minusSeconds(1));
+        when(repository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+        when(repository.findByTokenHash(current.getTokenHash())).thenReturn(Optional.of(current));
+
+        assertThatThrownBy(() -> service.rotate(raw)).isInstanceOf(InvalidRefreshTokenException.class);
+        assertThatThrownBy(() -> service.rotate("nope")).isInstanceOf(InvalidRefreshTokenException.class);
+        assertThat(current.getRevokedAt()).isNull();
+    }
+}
@@ -1,24 +1,50 @@
 package com.isys3001.todo_backend.service.impl;
 
+import com.isys3001.todo_backend.changes.TodoChangeLog;
+import com.isys3001.todo_backend.dto.request.BulkTodoRequest;
+import com.isys3001.todo_backend.dto.request.BulkUpdateTodoRequest;
 import com.isys3001.todo_backend.dto.request.CreateTodoRequest;
+import com.isys3001.todo_backend.dto.request.TodoFilter;
+import com.isys3001.todo_backend.dto.request.TodoImportRecord;
 import com.isys3001.todo_backend.dto.request.UpdateTodoRequest;
+import com.isys3001.todo_backend.dto.response.TodoChange;
+import com.isys3001.todo_backend.dto.response.TodoImportResponse;
 import com.isys3001.todo_backend.dto.response.TodoResponse;
+import com.isys3001.todo_backend.dto.response.TodoSearchHit;
+import com.isys3001.todo_backend.dto.response.TodoSummaryResponse;
 import com.isys3001.todo_backend.entity.Todo;
+import com.isys3001.todo_backend.exception.InvalidRequestException;
 import com.isys3001.todo_backend.entity.User;
+import com.isys3001.todo_backend.enums.Role;
+import com.isys3001.todo_backend.exception.TodoNotFoundException;
+import com.isys3001.todo_backend.exception.TodoVersionMismatchException;
 import com.isys3001.todo_backend.repositories.TodoRepository;
 import com.isys3001.todo_backend.repositories.UserRepository;
+import com.isys3001.todo_backend.search.SearchTerms;
+import com.isys3001.todo_backend.search.TodoSearch;
+import com.isys3001.todo_backend.security.AuthenticatedUser;
 import com.isys3001.todo_backend.service.TodoService;
 import com.isys3001.todo_backend.service.impl.TodoServiceImpl;
+import com.isys3001.todo_backend.utils.ChangeWatermark;
+import com.isys3001.todo_backend.utils.TodoCursor;
+import com.isys3001.todo_backend.utils.TodoImportReader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,6 +54,8 @@ class TodoServiceImplTest {
 
     @Mock private TodoRepository todoRepo;
     @Mock private UserRepository userRepo;
+    @Mock private TodoSearch todoSearch;
+    @Mock private TodoChangeLog changeLog;
 
     private TodoService service;
 
@@ -45,9 +73,10 @@ class TodoServiceImplTest {
         owner.setId(101L);
         owner.setEmail(EMAIL);
 
-        when(userRepo.findByEmail(EMAIL)).thenReturn(Optional.of(owner));
+        lenient().when(userRepo.findByEmail(EMAIL)).thenReturn(Optional.of(owner));
+        lenient().when(changeLog.nextSeq(101L)).thenReturn(SEQ);
 
-        service = new TodoServiceImpl(todoRepo, userRepo);
+        service = new TodoServiceImpl(todoRepo, userRepo, todoSearch, changeLog, new SimpleMeterRegistry(), 500, 500);
     }
 
     @AfterEach
@@ -63,7 +92,8 @@ class TodoServiceImplTest {
         var req = new CreateTodoRequest("Write report", "CI/CD section first");
         var saved = todo(1L, "Write report", "CI/CD section first", false, owner);
 
-        when(todoRepo.save(any(Todo.class))).thenAnswer(inv -> {
+        when(userRepo.getReferenceById(owner.getId())).thenReturn(owner);
+        when(todoRepo.saveAndFlush(any(Todo.class))).thenAnswer(inv -> {
             Todo t = inv.getArgument(0, Todo.class);
             // mimic DB behavior
             t.setId(1L);
@@ -81,8 +111,10 @@ class TodoServiceImplTest {
 
         // verify owner was set and saved
         ArgumentCaptor<Todo> captor = ArgumentCaptor.forClass(Todo.class);
-        verify(todoRepo).save(captor.capture());
+        verify(todoRepo).saveAndFlush(captor.capture());
         assertThat(captor.getValue().getOwner()).isEqualTo(owner);
+        assertThat(captor.getValue().getChangeSeq()).isEqualTo(SEQ);
+        verify(changeLog).announce(101L, SEQ, List.of(TodoChange.upserted(res, SEQ)));
     }
 
     // ---------- listMine() ----------
@@ -90,38 +122,205 @@ class TodoServiceImplTest {
     @Test
     void listMine_ShouldReturnTodosOfAuthenticatedUser() {
         // given
-        var t1 = todo(2L, "A", "a", false, owner);
-        var t2 = todo(3L, "B", "b", true, owner);
-        when(todoRepo.findByOwnerIdOrderByCreatedAtDesc(owner.getId()))
+        var t1 = response(2L, "A", "a", false);
+        var t2 = response(3L, "B", "b", true);
+        var filter = TodoFilter.none();
+        when(todoRepo.findPage(owner.getId(), filter, null, TodoServiceImpl.DEFAULT_PAGE_SIZE + 1))
                 .thenReturn(List.of(t2, t1));
 
         // when
-        var list = service.listMine();
+        var page = service.listMine(filter, null, null);
 
         // then
-        assertThat(list).hasSize(2);
-        assertThat(list.get(0).id()).isEqualTo(3L);
-        assertThat(list.get(1).id()).isEqualTo(2L);
-        verify(todoRepo).findByOwnerIdOrderByCreatedAtDesc(101L);
+        assertThat(page.items()).hasSize(2);
+        assertThat(page.items().get(0).id()).isEqualTo(3L);
+        assertThat(page.items().get(1).id()).isEqualTo(2L);
+        assertThat(page.next()).isNull();
+        verify(todoRepo).findPage(101L, filter, null, TodoServiceImpl.DEFAULT_PAGE_SIZE + 1);
+    }
+
+    @Test
+    void listMine_ShouldReturnNextCursor_WhenMoreRowsThanLimit() {
+        var t1 = response(4L, "A", null, false);
+        var t2 = response(3L, "B", null, false);
+        var t3 = response(2L, "C", null, false);
+        when(todoRepo.findPage(eq(101L), any(), isNull(), eq(3))).thenReturn(List.of(t1, t2, t3));
+
+        var page = service.listMine(TodoFilter.none(), null, 2);
+
+        assertThat(page.items()).extracting(TodoResponse::id).containsExactly(4L, 3L);
+        assertThat(TodoCursor.decode(page.next())).isEqualTo(new TodoCursor(t2.createdAt(), 3L));
+    }
+
+    @Test
+    void listMine_ShouldCapPageSize() {
+        when(todoRepo.findPage(eq(101L), any(), any(), anyInt())).thenReturn(List.of());
+
+        service.listMine(TodoFilter.none(), null, 100_000);
+
+        verify(todoRepo).findPage(eq(101L), any(), any(), eq(TodoServiceImpl.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void listMineSummaries_ShouldUseSummaryProjection() {
+        var s1 = new TodoSummaryResponse(8L, "A", false, CREATED, CREATED);
+        when(todoRepo.findSummaryPage(eq(101L), any(), isNull(), anyInt())).thenReturn(List.of(s1));
+
+        var page = service.listMineSummaries(TodoFilter.none(), null, null);
+
+        assertThat(page.items()).containsExactly(s1);
+        verify(todoRepo, never()).findPage(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void listMine_ShouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> service.listMine(TodoFilter.none(), "not-a-cursor", null))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    void listMine_ShouldUseTokenPrincipalId_WithoutUserLookup() {
+        var principal = new AuthenticatedUser(101L, EMAIL, Role.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.authorities()));
+        when(todoRepo.findPage(eq(101L), any(), any(), anyInt())).thenReturn(List.of());
+
+        service.listMine(TodoFilter.none(), null, null);
+
+        verify(userRepo, never()).findByEmail(any());
+    }
+
+    // ---------- search() ----------
+
+    @Test
+    void search_ShouldUseOffsetCursor_AndFetchOneExtraRow() {
+        var hit = new TodoSearchHit(1L, "Report", false, CREATED, CREATED, 1.0);
+        when(todoSearch.search(eq(101L), eq(SearchTerms.parse("rep")), eq(0), eq(2)))
+                .thenReturn(List.of(hit, hit));
+
+        var page = service.search("rep", null, 1);
+
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.next()).isEqualTo("1");
+    }
+
+    @Test
+    void search_ShouldRejectQueriesWithoutWords() {
+        assertThatThrownBy(() -> service.search(" -*+ ", null, null))
+                .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(todoSearch);
+    }
+
+    // ---------- exportMine() ----------
+
+    @Test
+    void exportMine_ShouldPassEachRowToSink_AndCloseTheStream() {
+        var t1 = response(2L, "A", "a", false);
+        var t2 = response(1L, "B", "b", true);
+        var closed = new AtomicBoolean();
+        when(todoRepo.streamResponsesByOwnerId(101L, 500))
+                .thenReturn(Stream.of(t1, t2).onClose(() -> closed.set(true)));
+
+        List<TodoResponse> written = new ArrayList<>();
+        service.exportMine(written::add);
+
+        assertThat(written).containsExactly(t1, t2);
+        assertThat(closed).isTrue();
+    }
+
+    // ---------- importMine() ----------
+
+    @Test
+    void importMine_ShouldInsertValidRowsInBatches_AndReportInvalidOnes() {
+        service = new TodoServiceImpl(todoRepo, userRepo, todoSearch, changeLog, new SimpleMeterRegistry(), 2, 500);
+        when(todoRepo.insertAll(eq(101L), anyList(), eq(2))).thenAnswer(inv -> ((List<?>) inv.getArgument(1)).size());
+        var rows = List.of(
+                new TodoImportReader.Row(1, new TodoImportRecord("A", null, null), null),
+                new TodoImportReader.Row(2, new TodoImportRecord(" ", null, null), null),
+                new TodoImportReader.Row(3, new TodoImportRecord("B", "b", true), null),
+                new TodoImportReader.Row(4, null, "malformed JSON"),
+                new TodoImportReader.Row(5, new TodoImportRecord("C", null, false), null));
+
+        var res = service.importMine(rows.iterator());
+
+        assertThat(res.imported()).isEqualTo(3);
+        assertThat(res.failed()).isEqualTo(2);
+        assertThat(res.errors()).extracting(TodoImportResponse.LineError::line).containsExactly(2L, 4L);
+        assertThat(res.errorsTruncated()).isFalse();
+        verify(todoRepo, times(2)).insertAll(eq(101L), anyList(), eq(2));
+    }
+
+    // ---------- changes() ----------
+
+    @Test
+    void changes_ShouldMergeUpsertsAndTombstonesInSequenceOrder() {
+        var upsert = new TodoChange(5L, "A", null, false, CREATED, CREATED, 1L, 3L);
+        var later = new TodoChange(2L, "B", null, true, CREATED, CREATED, 2L, 7L);
+        when(todoRepo.findChangesAfter(eq(101L), eq(0L), eq(0L), any(Limit.class))).thenReturn(List.of(upsert, later));
+        when(changeLog.deletionsAfter(eq(101L), eq(ChangeWatermark.START), anyInt()))
+                .thenReturn(List.of(TodoChange.deleted(9L, 3L)));
+
+        var res = service.changes(null, null);
+
+        assertThat(res.changes()).extracting(TodoChange::id).containsExactly(5L, 9L, 2L);
+        assertThat(res.changes()).extracting(TodoChange::op)
+                .containsExactly(TodoChange.UPSERT, TodoChange.DELETE, TodoChange.UPSERT);
+        assertThat(res.hasMore()).isFalse();
+        assertThat(ChangeWatermark.decode(res.watermark())).isEqualTo(new ChangeWatermark(7L, 2L));
+    }
+
+    @Test
+    void changes_ShouldPageFromWatermark() {
+        var since = new ChangeWatermark(3L, 5L);
+        when(todoRepo.findChangesAfter(eq(101L), eq(3L), eq(5L), eq(Limit.of(2)))).thenReturn(List.of(
+                new TodoChange(6L, "A", null, false, CREATED, CREATED, 0L, 3L),
+                new TodoChange(1L, "B", null, false, CREATED, CREATED, 0L, 4L)));
+        when(changeLog.deletionsAfter(101L, since, 2)).thenReturn(List.of(TodoChange.deleted(8L, 3L)));
+
+        var res = service.changes(since.encode(), 1);
+
+        assertThat(res.changes()).extracting(TodoChange::id).containsExactly(6L);
+        assertThat(res.hasMore()).isTrue();
+        assertThat(ChangeWatermark.decode(res.watermark())).isEqualTo(new ChangeWatermark(3L, 6L));
+    }
+
+    @Test
+    void changes_ShouldKeepWatermark_WhenNothingChanged() {
+        var since = new ChangeWatermark(12L, 40L).encode();
+        when(todoRepo.findChangesAfter(eq(101L), eq(12L), eq(40L), any(Limit.class))).thenReturn(List.of());
+
+        var res = service.changes(since, null);
+
+        assertThat(res.changes()).isEmpty();
+        assertThat(res.watermark()).isEqualTo(since);
+    }
+
+    @Test
+    void changes_ShouldRejectMalformedWatermark() {
+        assertThatThrownBy(() -> service.changes("%%%", null))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("Invalid watermark");
     }
 
     // ---------- get() ----------
 
     @Test
     void get_ShouldReturnWhenOwnedByCurrentUser() {
-        var t = todo(5L, "Read", "docs", false, owner);
-        when(todoRepo.findByIdAndOwnerId(5L, owner.getId())).thenReturn(Optional.of(t));
+        var t = response(5L, "Read", "docs", false);
+        when(todoRepo.findResponseByIdAndOwnerId(5L, owner.getId())).thenReturn(Optional.of(t));
 
         var res = service.get(5L);
 
         assertThat(res.id()).isEqualTo(5L);
         assertThat(res.title()).isEqualTo("Read");
-        verify(todoRepo).findByIdAndOwnerId(5L, 101L);
+        verify(todoRepo).findResponseByIdAndOwnerId(5L, 101L);
+        verify(todoRepo, never()).findByIdAndOwnerId(any(), any());
     }
 
     @Test
     void get_ShouldThrowWhenTodoNotFound() {
-        when(todoRepo.findByIdAndOwnerId(9L, owner.getId())).thenReturn(Optional.empty());
+        when(todoRepo.findResponseByIdAndOwnerId(9L, owner.getId())).thenReturn(Optional.empty());
         assertThatThrownBy(() -> service.get(9L))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Todo not found");
@@ -130,56 +329,142 @@ class TodoServiceImplTest {
     // ---------- update() ----------
 
     @Test
-    void update_ShouldPatchOnlyProvidedFields() {
-        // existing todo
-        var existing = todo(7L, "Old", "desc", false, owner);
-        when(todoRepo.findByIdAndOwnerId(7L, owner.getId())).thenReturn(Optional.of(existing));
-        when(todoRepo.save(any(Todo.class))).thenAnswer(inv -> inv.getArgument(0));
+    void update_ShouldPatchOnlyProvidedFields_WithSingleOwnerScopedUpdate() {
+        when(todoRepo.updateOwned(eq(7L), eq(101L), any(), any(), any(), anyLong())).thenReturn(1);
+        when(todoRepo.findResponseByIdAndOwnerId(7L, 101L))
+                .thenReturn(Optional.of(response(7L, "Old", "desc", true)));
 
         // patch: completed only
-        var req1 = new UpdateTodoRequest(null, null, true);
-        var res1 = service.update(7L, req1);
-        assertThat(res1.completed()).isTrue();
-        assertThat(res1.title()).isEqualTo("Old");
-        assertThat(res1.description()).isEqualTo("desc");
+        var req = new UpdateTodoRequest(null, null, true);
+        var res = service.update(7L, req);
+
+        assertThat(res.completed()).isTrue();
+        assertThat(res.title()).isEqualTo("Old");
+        verify(todoRepo).updateOwned(eq(7L), eq(101L), eq(req), isNull(), any(Instant.class), eq(SEQ));
+        verify(todoRepo, never()).findByIdAndOwnerId(any(), any());
+        verify(todoRepo, never()).save(any());
+        verify(changeLog).announce(101L, SEQ, List.of(TodoChange.upserted(res, SEQ)));
+    }
+
+    @Test
+    void update_ShouldSkipUpdate_WhenNothingToChange() {
+        when(todoRepo.findResponseByIdAndOwnerId(7L, 101L))
+                .thenReturn(Optional.of(response(7L, "Old", "desc", false)));
+
+        var res = service.update(7L, new UpdateTodoRequest(" ", null, null));
 
-        // patch: title & description
-        var req2 = new UpdateTodoRequest("New", "updated", null);
-        var res2 = service.update(7L, req2);
-        assertThat(res2.title()).isEqualTo("New");
-        assertThat(res2.description()).isEqualTo("updated");
-        assertThat(res2.completed()).isTrue(); // unchanged from prior update
+        assertThat(res.title()).isEqualTo("Old");
+        verify(todoRepo, never()).updateOwned(any(), any(), any(), any(), any(), anyLong());
+        verify(changeLog, never()).nextSeq(any());
     }
 
     @Test
     void update_ShouldThrowWhenTodoMissing() {
-        when(todoRepo.findByIdAndOwnerId(99L, owner.getId())).thenReturn(Optional.empty());
+        when(todoRepo.updateOwned(eq(99L), eq(101L), any(), any(), any(), anyLong())).thenReturn(0);
         var req = new UpdateTodoRequest("X", null, null);
         assertThatThrownBy(() -> service.update(99L, req))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Todo not found");
     }
 
+    @Test
+    void update_ShouldFailPrecondition_WhenIfMatchVersionIsStale() {
+        when(todoRepo.updateOwned(eq(7L), eq(101L), any(), eq(3L), any(), anyLong())).thenReturn(0);
+        when(todoRepo.findResponseByIdAndOwnerId(7L, 101L))
+                .thenReturn(Optional.of(new TodoResponse(7L, "Old", null, false, CREATED, CREATED, 4L)));
+
+        assertThatThrownBy(() -> service.update(7L, new UpdateTodoRequest("New", null, null), 3L))
+                .isInstanceOf(TodoVersionMismatchException.class);
+        verify(changeLog, never()).announce(any(), anyLong(), any());
+    }
+
     // ---------- delete() ----------
 
     @Test
     void delete_ShouldRemoveWhenOwnedByUser() {
-        var t = todo(11L, "Remove me", null, false, owner);
-        when(todoRepo.findByIdAndOwnerId(11L, owner.getId())).thenReturn(Optional.of(t));
+        when(todoRepo.deleteByIdAndOwnerId(11L, 101L)).thenReturn(1);
 
         service.delete(11L);
 
-        verify(todoRepo).delete(t);
+        verify(todoRepo).deleteByIdAndOwnerId(11L, 101L);
+        verify(todoRepo, never()).findByIdAndOwnerId(any(), any());
+        verify(changeLog).deleting(101L, List.of(11L), SEQ);
+        verify(changeLog).announce(101L, SEQ, List.of(TodoChange.deleted(11L, SEQ)));
     }
 
     @Test
     void delete_ShouldThrowWhenTodoMissing() {
-        when(todoRepo.findByIdAndOwnerId(12L, owner.getId())).thenReturn(Optional.empty());
+        when(todoRepo.deleteByIdAndOwnerId(12L, 101L)).thenReturn(0);
         assertThatThrownBy(() -> service.delete(12L))
-                .isInstanceOf(IllegalArgumentException.class)
+                .isInstanceOf(TodoNotFoundException.class)
                 .hasMessageContaining("Todo not found");
     }
 
+    // ---------- bulk() ----------
+
+    @Test
+    void bulk_ShouldReportPerItemResults() {
+        var existing = todo(20L, "Old", null, false, owner);
+        when(userRepo.getReferenceById(101L)).thenReturn(owner);
+        when(todoRepo.findByOwnerIdAndIdIn(101L, List.of(20L, 21L))).thenReturn(List.of(existing));
+        when(todoRepo.findOwnedIds(101L, List.of(30L, 31L))).thenReturn(List.of(30L));
+
+        var req = new BulkTodoRequest(
+                List.of(new CreateTodoRequest("New", null), new CreateTodoRequest(" ", null)),
+                List.of(new BulkUpdateTodoRequest(20L, null, null, true),
+                        new BulkUpdateTodoRequest(21L, "X", null, null)),
+                List.of(30L, 31L));
+
+        var res = service.bulk(req);
+
+        assertThat(res.created()).extracting(r -> r.status()).containsExactly(201, 400);
+        assertThat(res.updated()).extracting(r -> r.status()).containsExactly(200, 404);
+        assertThat(res.updated().get(0).todo().completed()).isTrue();
+        assertThat(res.deleted()).extracting(r -> r.status()).containsExactly(204, 404);
+        verify(todoRepo).deleteOwned(101L, Set.of(30L));
+        verify(todoRepo).flush();
+        verify(changeLog, times(1)).nextSeq(101L);
+        verify(changeLog).deleting(101L, Set.of(30L), SEQ);
+        assertThat(existing.getChangeSeq()).isEqualTo(SEQ);
+        verify(changeLog).announce(eq(101L), eq(SEQ), argThat(changes -> changes.size() == 3));
+    }
+
+    @Test
+    void bulk_ShouldReportMissingIdsAndInvalidChangesAsBadRequest() {
+        var existing = todo(20L, "Old", null, false, owner);
+        when(userRepo.getReferenceById(101L)).thenReturn(owner);
+        when(todoRepo.findByOwnerIdAndIdIn(101L, List.of(20L))).thenReturn(List.of(existing));
+        var deletes = new ArrayList<Long>();
+        deletes.add(null);
+
+        var req = new BulkTodoRequest(null,
+                List.of(new BulkUpdateTodoRequest(null, "X", null, null),
+                        new BulkUpdateTodoRequest(20L, "x".repeat(161), null, null)),
+                deletes);
+
+        var res = service.bulk(req);
+
+        assertThat(res.updated()).extracting(r -> r.status()).containsExactly(400, 400);
+        assertThat(res.updated().get(0).error()).isEqualTo("id is required");
+        assertThat(res.deleted()).extracting(r -> r.status()).containsExactly(400);
+        verify(todoRepo, never()).deleteOwned(any(), any());
+    }
+
+    @Test
+    void bulk_ShouldRejectOversizedRequest() {
+        var ids = LongStream.range(0, TodoServiceImpl.MAX_BULK_ITEMS + 1).boxed().toList();
+        assertThatThrownBy(() -> service.bulk(new BulkTodoRequest(null, null, ids)))
+                .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(todoRepo);
+    }
+
+    private static final Instant CREATED = Instant.parse("2025-01-01T00:00:00Z");
+    private static final long SEQ = 42L;
+
+    private static TodoResponse response(Long id, String title, String desc, boolean completed) {
+        return new TodoResponse(id, title, desc, completed, CREATED, CREATED, 0L);
+    }
+
     private static Todo todo(Long id, String title, String desc, boolean completed, User owner) {
         var t = new Todo();
         t.setId(id);
@@ -0,0 +1,29 @@
+package com.isys3001.todo_backend.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AcceptEncodingTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"gzip", "GZIP", "deflate, gzip", "gzip;q=0.5", "br;q=1.0, gzip; q=0.001", "*", "x-gzip"})
+    void accepts_ShouldAcceptGzip(String header) {
+        assertThat(AcceptEncoding.accepts(header, "gzip")).isTrue();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"gzip;q=0", "gzip; q=0.000", "identity", "deflate, br", "gzip;q=0, *", "*;q=0", "gzip;q=abc"})
+    void accepts_ShouldRefuseGzip(String header) {
+        assertThat(AcceptEncoding.accepts(header, "gzip")).isFalse();
+    }
+
+    @Test
+    void accepts_ExplicitEntry_ShouldWinOverWildcard() {
+        assertThat(AcceptEncoding.accepts("*;q=0, gzip", "gzip")).isTrue();
+    }
+}
@@ -0,0 +1,121 @@
+package com.isys3001.todo_backend.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.isys3001.todo_backend.exception.InvalidImportException;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TodoImportReaderTest {
+
+    private static List<TodoImportReader.Row> readAll(TodoImportReader reader) {
+        List<TodoImportReader.Row> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+
+    @Test
+    void ndjson_ShouldParseRecords_AndReportMalformedLines() {
+        String body = """
+                {"title":"A","description":"a","completed":true}
+
+                {"title":
+                {"title":"B"}
+                """;
+
+        var rows = readAll(TodoImportReader.ndjson(new StringReader(body), new ObjectMapper()));
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).record().completed()).isTrue();
+        assertThat(rows.get(1).line()).isEqualTo(3);
+        assertThat(rows.get(1).error()).isEqualTo("malformed JSON");
+        assertThat(rows.get(2).line()).isEqualTo(4);
+        assertThat(rows.get(2).record().title()).isEqualTo("B");
+    }
+
+    @Test
+    void ndjson_ShouldReportNonObjectValues() {
+        String body = "null\n42\n[{\"title\":\"A\"}]\n\"A\"\n{\"title\":\"B\"}\n";
+
+        var rows = readAll(TodoImportReader.ndjson(new StringReader(body), new ObjectMapper()));
+
+        assertThat(rows).hasSize(5);
+        assertThat(rows.subList(0, 4)).allSatisfy(row -> {
+            assertThat(row.record()).isNull();
+            assertThat(row.error()).isEqualTo("not a JSON object");
+        });
+        assertThat(rows.get(4).record().title()).isEqualTo("B");
+    }
+
+    @Test
+    void ndjson_ShouldReportOverlongLines_AndCarryOn() {
+        String huge = "{\"title\":\"" + "x".repeat(TodoImportReader.MAX_RECORD_LENGTH) + "\"}";
+        String body = huge + "\r\n{\"title\":\"B\"}\r\n";
+
+        var rows = readAll(TodoImportReader.ndjson(new StringReader(body), new ObjectMapper()));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).error()).isEqualTo(TodoImportReader.TOO_LONG);
+        assertThat(rows.get(1).line()).isEqualTo(2);
+        assertThat(rows.get(1).record().title()).isEqualTo("B");
+    }
+
+    @Test
+    void csv_ShouldHandleQuotedCommasQuotesAndNewlines() {
+        String body = "description,title,completed\n"
+                + "\"multi\nline\",\"Hello, \"\"world\"\"\",false\n"
+                + "plain,Second,yes\n";
+
+        var rows = readAll(TodoImportReader.csv(new StringReader(body)));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(0).record().title()).isEqualTo("Hello, \"world\"");
+        assertThat(rows.get(0).record().description()).isEqualTo("multi\nline");
+        assertThat(rows.get(0).record().completed()).isFalse();
+        assertThat(rows.get(1).line()).isEqualTo(4);
+        assertThat(rows.get(1).error()).contains("completed");
+    }
+
+    @Test
+    void csv_ShouldRejectHeaderWithoutTitle() {
+        var reader = TodoImportReader.csv(new StringReader("name,description\nx,y\n"));
+        assertThatThrownBy(reader::hasNext).isInstanceOf(InvalidImportException.class);
+    }
+
+    @Test
+    void csv_ShouldReportAnUnterminatedQuote_InsteadOfImportingTheRestOfTheFile() {
+        String body = "title,description\n"
+                + "First,ok\n"
+                + "\"Second,oops\n"
+                + "Third,swallowed\n";
+
+        var rows = readAll(TodoImportReader.csv(new StringReader(body)));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).record().title()).isEqualTo("First");
+        assertThat(rows.get(1).line()).isEqualTo(3);
+        assertThat(rows.get(1).record()).isNull();
+        assertThat(rows.get(1).error()).isEqualTo("unterminated quoted field");
+    }
+
+    @Test
+    void csv_ShouldReportOverlongRecords_AndResumeAfterThem() {
+        String longField = "\"" + "a\"\"b,\n".repeat(TodoImportReader.MAX_RECORD_LENGTH / 4) + "\"";
+        String body = "title,description\r\n"
+                + "Long," + longField + "\r\n"
+                + "Next,fine\r\n";
+
+        var rows = readAll(TodoImportReader.csv(new StringReader(body)));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).line()).isEqualTo(2);
+        assertThat(rows.get(0).error()).isEqualTo(TodoImportReader.TOO_LONG);
+        assertThat(rows.get(1).record().title()).isEqualTo("Next");
+        assertThat(rows.get(1).record().description()).isEqualTo("fine");
+    }
+}
@@ -0,0 +1,50 @@
+package com.isys3001.todo_backend.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TodoImportSpoolTest {
+
+    @Test
+    void rows_ShouldReplayEverySpooledRow_InOrder() throws Exception {
+        String longDescription = "ü".repeat(10_000);
+        String body = """
+                {"title":"A","description":"%s","completed":true}
+                {"title":
+                {"title":"B"}
+                """.formatted(longDescription);
+        List<TodoImportReader.Row> expected = new ArrayList<>();
+        TodoImportReader.ndjson(new StringReader(body), new ObjectMapper()).forEachRemaining(expected::add);
+
+        try (TodoImportSpool spool = TodoImportSpool.of(
+                TodoImportReader.ndjson(new StringReader(body), new ObjectMapper()))) {
+            List<TodoImportReader.Row> replayed = new ArrayList<>();
+            spool.rows().forEachRemaining(replayed::add);
+
+            assertThat(replayed).isEqualTo(expected);
+            assertThat(replayed.get(0).record().description()).hasSize(10_000);
+            assertThat(replayed.get(2).record().completed()).isNull();
+        }
+    }
+
+    @Test
+    void of_ShouldDrainTheSourceBeforeReturning() throws Exception {
+        Iterator<TodoImportReader.Row> source = TodoImportReader.csv(new StringReader("title\nA\nB\n"));
+
+        try (TodoImportSpool spool = TodoImportSpool.of(source)) {
+            assertThat(source.hasNext()).isFalse();
+            Iterator<TodoImportReader.Row> rows = spool.rows();
+            rows.next();
+            rows.next();
+            assertThatThrownBy(rows::next).isInstanceOf(NoSuchElementException.class);
+        }
+    }
+}
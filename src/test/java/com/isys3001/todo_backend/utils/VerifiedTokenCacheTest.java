@@ -0,0 +1,44 @@
+package com.isys3001.todo_backend.utils;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = spy(new JwtUtil());
+        cache = new VerifiedTokenCache(jwtUtil, 100);
+    }
+
+    @Test
+    void verify_ShouldParseOnce_AndServeRepeatsFromCache() {
+        String token = jwtUtil.generateToken("alice@example.com");
+
+        var first = cache.verify(token);
+        var second = cache.verify(token);
+
+        assertThat(first.getSubject()).isEqualTo("alice@example.com");
+        assertThat(second.getSubject()).isEqualTo("alice@example.com");
+        verify(jwtUtil, times(1)).parseClaims(token);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void verify_ShouldRejectTamperedToken_AndNotCacheIt() {
+        String token = jwtUtil.generateToken("alice@example.com");
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertThatThrownBy(() -> cache.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> cache.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThat(cache.hitCount()).isZero();
+    }
+}